@@ -0,0 +1,106 @@
+#!/bin/bash
+# Cold start comparison of the default build and the fast-start build
+#
+# Starts the backend repeatedly in each mode and reports the time from launching the JVM to the
+# first successful request, the "Started ... in" time Spring Boot logs, and the resident set size
+# right after the first request. Both builds come from one fast-start build:
+#
+#   mvn -Pfast-start -DskipTests package
+#   RUNS=5 ./bench-startup.sh
+#
+# Modes: default (fat jar), lazy (fat jar, lazy bean initialization) and fast-start (AOT-processed
+# plain jar with a CDS archive and lazy bean initialization). The database settings are the usual
+# DB_* variables; nothing on the startup path queries the database.
+
+JAR="${JAR:-target/teamtodo-backend-1.0.0-SNAPSHOT.jar}"
+FAST_START_DIR="${FAST_START_DIR:-target/fast-start}"
+PORT="${PORT:-8080}"
+RUNS="${RUNS:-3}"
+PROBE_PATH="${PROBE_PATH:-/health/ping}"
+
+API_BASE_URL="http://localhost:${PORT}/api"
+
+# Color codes for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+NC='\033[0m' # No Color
+
+# The CDS archive only matches the class path it was recorded with, so run from its directory
+FAST_START_JAR=$(cd "$FAST_START_DIR" 2>/dev/null && ls *-fast-start.jar 2>/dev/null | head -1)
+FAST_START_JSA=$(cd "$FAST_START_DIR" 2>/dev/null && ls *.jsa 2>/dev/null | head -1)
+if [ ! -f "$JAR" ] || [ -z "$FAST_START_JAR" ] || [ -z "$FAST_START_JSA" ]; then
+  echo -e "${RED}Builds not found, build them with: mvn -Pfast-start -DskipTests package${NC}"
+  exit 1
+fi
+
+now_ms() {
+  echo $(( $(date +%s%N) / 1000000 ))
+}
+
+RESULTS=()
+
+run_mode() {
+  local mode=$1
+  shift
+  local total_first=0 total_started=0 total_rss=0
+
+  echo -e "${YELLOW}${mode}${NC}"
+  for run in $(seq 1 "$RUNS"); do
+    local log="$PWD/target/startup-${mode}-${run}.log"
+    local launched
+    launched=$(now_ms)
+    "$@" --server.port="$PORT" > "$log" 2>&1 &
+    local pid=$!
+
+    local first=""
+    for _ in $(seq 1 3000); do
+      if curl -sf "${API_BASE_URL}${PROBE_PATH}" >/dev/null 2>&1; then
+        first=$(( $(now_ms) - launched ))
+        break
+      fi
+      if ! kill -0 $pid 2>/dev/null; then
+        break
+      fi
+      sleep 0.01
+    done
+    if [ -z "$first" ]; then
+      echo -e "${RED}Backend did not answer, see $log${NC}"
+      kill $pid 2>/dev/null
+      exit 1
+    fi
+
+    if grep -q "Unable to use shared archive" "$log"; then
+      echo -e "${RED}  CDS archive not used, see $log${NC}"
+    fi
+
+    local rss started
+    rss=$(( $(ps -o rss= -p $pid) / 1024 ))
+    started=$(grep -o "Started [A-Za-z]* in [0-9.]* seconds" "$log" | awk '{print $4 * 1000}')
+    echo "  run ${run}: first request after ${first} ms, started in ${started} ms, RSS ${rss} MB"
+    total_first=$(( total_first + first ))
+    total_started=$(( total_started + ${started%.*} ))
+    total_rss=$(( total_rss + rss ))
+
+    kill $pid
+    wait $pid 2>/dev/null
+  done
+  RESULTS+=("$(printf '%-12s %16s %14s %10s' "$mode" "$(( total_first / RUNS )) ms" \
+    "$(( total_started / RUNS )) ms" "$(( total_rss / RUNS )) MB")")
+}
+
+mkdir -p target
+run_mode default java -jar "$JAR"
+run_mode lazy java -jar "$JAR" --spring.main.lazy-initialization=true
+fast_start() {
+  cd "$FAST_START_DIR" && exec java -XX:SharedArchiveFile="$FAST_START_JSA" -Dspring.aot.enabled=true \
+    -jar "$FAST_START_JAR" --spring.main.lazy-initialization=true "$@"
+}
+run_mode fast-start fast_start
+
+echo ""
+echo -e "${GREEN}Averages over ${RUNS} runs (logs in target/startup-*.log)${NC}"
+printf '%-12s %16s %14s %10s\n' "mode" "first request" "started in" "RSS"
+for line in "${RESULTS[@]}"; do
+  echo "$line"
+done
@@ -0,0 +1,93 @@
+#!/bin/bash
+# Throughput / p99 comparison of platform threads vs virtual threads
+#
+# Starts the packaged backend twice against the same MySQL database, once per threading mode,
+# and drives each with `hey` at a high client count. Requires a Java 21 runtime and a build
+# made with the java21 profile:
+#
+#   mvn -Pjava21 -DskipTests package
+#   CONCURRENCY=2000 ./bench-virtual-threads.sh
+#
+# The tested endpoint blocks on JDBC for every request, which is the case virtual threads help.
+
+JAR="${JAR:-target/teamtodo-backend-1.0.0-SNAPSHOT.jar}"
+PORT="${PORT:-8080}"
+BENCH_PATH="${BENCH_PATH:-/projects/1/members}"
+CONCURRENCY="${CONCURRENCY:-1000}"
+DURATION="${DURATION:-60s}"
+WARMUP="${WARMUP:-15s}"
+DB_POOL_SIZE="${DB_POOL_SIZE:-20}"
+
+API_BASE_URL="http://localhost:${PORT}/api"
+
+# Color codes for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+NC='\033[0m' # No Color
+
+if ! command -v hey >/dev/null 2>&1; then
+  echo -e "${RED}hey is required: go install github.com/rakyll/hey@latest${NC}"
+  exit 1
+fi
+if [ ! -f "$JAR" ]; then
+  echo -e "${RED}$JAR not found, build it with: mvn -Pjava21 -DskipTests package${NC}"
+  exit 1
+fi
+JAVA_FEATURE=$(java -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')
+if [ "${JAVA_FEATURE%%.*}" -lt 21 ] 2>/dev/null; then
+  echo -e "${RED}Java 21+ is required for virtual threads, found $JAVA_FEATURE${NC}"
+  exit 1
+fi
+
+RESULTS=()
+
+run_mode() {
+  local mode=$1
+  local virtual=$2
+  local log="target/bench-${mode}.log"
+
+  echo -e "${YELLOW}Starting backend with ${mode} threads${NC}"
+  VIRTUAL_THREADS_ENABLED=$virtual DB_POOL_SIZE=$DB_POOL_SIZE ADMISSION_CONTROL_ENABLED=false \
+    java -Djdk.tracePinnedThreads=short -jar "$JAR" --server.port="$PORT" > "$log" 2>&1 &
+  local pid=$!
+
+  for _ in $(seq 1 60); do
+    curl -sf "${API_BASE_URL}/actuator/health" >/dev/null && break
+    sleep 1
+  done
+  if ! curl -sf "${API_BASE_URL}/actuator/health" >/dev/null; then
+    echo -e "${RED}Backend did not start, see $log${NC}"
+    kill $pid 2>/dev/null
+    exit 1
+  fi
+
+  echo "Warming up for ${WARMUP}"
+  hey -z "$WARMUP" -c 100 "${API_BASE_URL}${BENCH_PATH}" >/dev/null
+
+  echo "GET ${API_BASE_URL}${BENCH_PATH} with ${CONCURRENCY} clients for ${DURATION}"
+  local report
+  report=$(hey -z "$DURATION" -c "$CONCURRENCY" "${API_BASE_URL}${BENCH_PATH}")
+  echo "$report" > "target/bench-${mode}.txt"
+
+  local rps p99 errors pinned
+  rps=$(echo "$report" | awk '/Requests\/sec/ {print $2}')
+  p99=$(echo "$report" | awk '/99% in/ {print $3}')
+  errors=$(echo "$report" | awk '/\[[0-9]+\]/ && !/\[200\]/ {sum += $2} END {print sum + 0}')
+  pinned=$(grep -c "onPinned\|<== monitors" "$log")
+  RESULTS+=("$(printf '%-10s %12s %12s %10s %10s' "$mode" "$rps" "${p99}s" "$errors" "$pinned")")
+
+  kill $pid
+  wait $pid 2>/dev/null
+}
+
+mkdir -p target
+run_mode platform false
+run_mode virtual true
+
+echo ""
+echo -e "${GREEN}Results (full hey reports in target/bench-*.txt)${NC}"
+printf '%-10s %12s %12s %10s %10s\n' "threads" "req/s" "p99" "non-200" "pinned"
+for line in "${RESULTS[@]}"; do
+  echo "$line"
+done
@@ -52,6 +52,19 @@ export const memberApi = {
     return response.data;
   },
 
+  /**
+   * Listen for changes to a project's member list over Server-Sent Events
+   * The callback receives the member list version when the stream opens (again after a
+   * reconnect) and after every member added or removed. Returns a function that closes the stream.
+   */
+  subscribeToMemberEvents(projectId: number, onVersion: (version: number) => void): () => void {
+    const source = new EventSource(`${API_BASE_URL}/projects/${projectId}/members/events`);
+    const listener = (event: MessageEvent) => onVersion(JSON.parse(event.data).version);
+    source.addEventListener('version', listener);
+    source.addEventListener('members', listener);
+    return () => source.close();
+  },
+
   /**
    * Remove a member from a project
    */
@@ -0,0 +1,32 @@
+import axios from 'axios';
+
+const API_BASE_URL = import.meta.env.VITE_API_BASE_URL || 'http://localhost:8080/api';
+
+const apiClient = axios.create({
+  baseURL: API_BASE_URL,
+  headers: {
+    'Content-Type': 'application/json',
+  },
+});
+
+export interface UserSearchResult {
+  id: number;
+  username: string;
+  email: string;
+}
+
+/**
+ * API service for user operations
+ */
+export const userApi = {
+  /**
+   * Search users by username or email prefix, best matches first
+   */
+  async searchUsers(q: string, limit = 10, signal?: AbortSignal): Promise<UserSearchResult[]> {
+    const response = await apiClient.get('/users/search', {
+      params: { q, limit },
+      signal,
+    });
+    return response.data;
+  },
+};
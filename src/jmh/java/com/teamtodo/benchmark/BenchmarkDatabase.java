@@ -0,0 +1,132 @@
+package com.teamtodo.benchmark;
+
+import com.teamtodo.TeamTodoApplication;
+import com.teamtodo.support.H2Schema;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Application context on an embedded H2 database, seeded with one project for the benchmarks
+ *
+ * The full application is started without the web server, so services run with their real
+ * transactions, caches and mappers. Users 1..members are members of the project owned by the
+ * owner user; spare users are created but not added.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+    
+    private static final int SEED_BATCH_SIZE = 1_000;
+    
+    private final ConfigurableApplicationContext context;
+    
+    private final long ownerId;
+    
+    private final long projectId;
+    
+    private final long[] memberUserIds;
+    
+    private final long[] spareUserIds;
+    
+    private BenchmarkDatabase(ConfigurableApplicationContext context, long ownerId, long projectId,
+                              long[] memberUserIds, long[] spareUserIds) {
+        this.context = context;
+        this.ownerId = ownerId;
+        this.projectId = projectId;
+        this.memberUserIds = memberUserIds;
+        this.spareUserIds = spareUserIds;
+    }
+    
+    /**
+     * Start the application on a fresh database and seed it
+     *
+     * @param members    members of the benchmark project
+     * @param spareUsers users that exist but are not members
+     * @param properties extra application properties, "key=value"
+     */
+    static BenchmarkDatabase start(int members, int spareUsers, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + H2Schema.url("bench" + System.nanoTime()),
+                "--spring.datasource.driver-class-name=" + H2Schema.DRIVER_CLASS_NAME,
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--teamtodo.user-search.enabled=false",
+                "--logging.level.root=WARN"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        // Command line arguments, so they win over application.yml
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TeamTodoApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+        H2Schema.load(context.getBean(DataSource.class));
+        
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        long total = 1L + members + spareUsers;
+        insertUsers(jdbc, total);
+        long ownerId = total; // Last user, so member and spare ids stay contiguous
+        jdbc.update("INSERT INTO projects (id, name, owner_id) VALUES (1, 'benchmark', ?)", ownerId);
+        long[] memberUserIds = LongStream.rangeClosed(1, members).toArray();
+        insertMembers(jdbc, 1L, memberUserIds);
+        long[] spareUserIds = LongStream.rangeClosed(members + 1L, members + (long) spareUsers).toArray();
+        return new BenchmarkDatabase(context, ownerId, 1L, memberUserIds, spareUserIds);
+    }
+    
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+    
+    long ownerId() {
+        return ownerId;
+    }
+    
+    long projectId() {
+        return projectId;
+    }
+    
+    long[] memberUserIds() {
+        return memberUserIds;
+    }
+    
+    long[] spareUserIds() {
+        return spareUserIds;
+    }
+    
+    @Override
+    public void close() {
+        context.close();
+    }
+    
+    private static void insertUsers(JdbcTemplate jdbc, long count) {
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (long id = 1; id <= count; id++) {
+            batch.add(new Object[] { id, "user" + id, "user" + id + "@example.com" });
+            if (batch.size() == SEED_BATCH_SIZE || id == count) {
+                jdbc.batchUpdate("INSERT INTO users (id, username, email) VALUES (?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+    
+    private static void insertMembers(JdbcTemplate jdbc, long projectId, long[] userIds) {
+        Timestamp joinedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < userIds.length; i++) {
+            batch.add(new Object[] { projectId, userIds[i], "MEMBER", joinedAt });
+            if (batch.size() == SEED_BATCH_SIZE || i == userIds.length - 1) {
+                jdbc.batchUpdate("INSERT INTO project_members (project_id, user_id, role, joined_at) VALUES (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.teamtodo.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.teamtodo.dto.MemberColumns;
+import com.teamtodo.dto.MemberResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of member lists as returned by GET /projects/{projectId}/members,
+ * in the row form and the columnar form, the latter also as Smile
+ * Uses the ObjectMapper Spring Boot builds from the spring.jackson settings in application.yml.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemberResponseJsonBenchmark {
+    
+    @Param({ "10", "1000", "10000" })
+    private int members;
+    
+    private ConfigurableApplicationContext context;
+    
+    private ObjectMapper objectMapper;
+    
+    private ObjectMapper smileMapper;
+    
+    private List<MemberResponse> responses;
+    
+    private byte[] json;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        context = new SpringApplicationBuilder(JacksonAutoConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run("--logging.level.root=WARN");
+        objectMapper = context.getBean(ObjectMapper.class);
+        smileMapper = objectMapper.copyWith(new SmileFactory()); // As MemberColumnsConfig
+        
+        LocalDateTime joinedAt = LocalDateTime.now();
+        responses = new ArrayList<>(members);
+        for (long i = 1; i <= members; i++) {
+            MemberResponse response = new MemberResponse();
+            response.setId(i);
+            response.setUserId(i);
+            response.setUsername("user" + i);
+            response.setEmail("user" + i + "@example.com");
+            response.setRole(i == 1 ? "OWNER" : "MEMBER");
+            response.setJoinedAt(joinedAt.minusMinutes(i));
+            responses.add(response);
+        }
+        json = objectMapper.writeValueAsBytes(responses);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+    
+    @Benchmark
+    public byte[] serializeColumns() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new MemberColumns(responses));
+    }
+    
+    @Benchmark
+    public byte[] serializeColumnsSmile() throws JsonProcessingException {
+        return smileMapper.writeValueAsBytes(new MemberColumns(responses));
+    }
+    
+    @Benchmark
+    public MemberResponse[] deserialize() throws IOException {
+        return objectMapper.readValue(json, MemberResponse[].class);
+    }
+}
@@ -0,0 +1,139 @@
+package com.teamtodo.benchmark;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.teamtodo.dto.AddMemberRequest;
+import com.teamtodo.dto.MemberResponse;
+import com.teamtodo.entity.ProjectMember;
+import com.teamtodo.mapper.ProjectMemberMapper;
+import com.teamtodo.service.ProjectMemberService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Member service hot paths against H2 in MySQL mode, for projects of 10, 1k and 10k members
+ *
+ * isProjectMember runs with the membership cache off by default to time the database path,
+ * pass -p membershipCache=true to time the cached path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectMemberServiceBenchmark {
+    
+    private static final int SPARE_USERS = 1_000;
+    
+    @Param({ "10", "1000", "10000" })
+    private int members;
+    
+    @Param({ "false" })
+    private boolean membershipCache;
+    
+    private BenchmarkDatabase database;
+    
+    private ProjectMemberService projectMemberService;
+    
+    private ProjectMemberMapper projectMemberMapper;
+    
+    private int next;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start(members, SPARE_USERS,
+                "teamtodo.membership-cache.enabled=" + membershipCache);
+        projectMemberService = database.getBean(ProjectMemberService.class);
+        projectMemberMapper = database.getBean(ProjectMemberMapper.class);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+    
+    @Benchmark
+    public List<MemberResponse> getProjectMembers() {
+        return projectMemberService.getProjectMembers(database.projectId());
+    }
+    
+    @Benchmark
+    public boolean isProjectMember() {
+        long[] userIds = database.memberUserIds();
+        return projectMemberService.isProjectMember(database.projectId(), userIds[next++ % userIds.length]);
+    }
+    
+    @Benchmark
+    public ProjectMember addMember(PendingAdd pending) {
+        return projectMemberService.addMember(pending.request);
+    }
+    
+    @Benchmark
+    public void removeMember(PendingRemove pending) {
+        projectMemberService.removeMember(database.projectId(), pending.memberId, database.ownerId());
+    }
+    
+    /**
+     * A spare user to add, taken out of the project again after each call
+     */
+    @State(Scope.Thread)
+    public static class PendingAdd {
+        
+        private AddMemberRequest request;
+        
+        private int next;
+        
+        @Setup(Level.Invocation)
+        public void prepare(ProjectMemberServiceBenchmark benchmark) {
+            long[] spare = benchmark.database.spareUserIds();
+            request = new AddMemberRequest();
+            request.setProjectId(benchmark.database.projectId());
+            request.setUserId(spare[next++ % spare.length]);
+        }
+        
+        @TearDown(Level.Invocation)
+        public void undo(ProjectMemberServiceBenchmark benchmark) {
+            benchmark.projectMemberMapper.delete(new QueryWrapper<ProjectMember>()
+                    .eq("project_id", request.getProjectId())
+                    .eq("user_id", request.getUserId()));
+        }
+    }
+    
+    /**
+     * A spare user inserted as a member before each call, for removeMember to delete
+     */
+    @State(Scope.Thread)
+    public static class PendingRemove {
+        
+        private Long memberId;
+        
+        private int next;
+        
+        @Setup(Level.Invocation)
+        public void prepare(ProjectMemberServiceBenchmark benchmark) {
+            long[] spare = benchmark.database.spareUserIds();
+            ProjectMember member = new ProjectMember();
+            member.setProjectId(benchmark.database.projectId());
+            member.setUserId(spare[next++ % spare.length]);
+            member.setRole("MEMBER");
+            member.setJoinedAt(LocalDateTime.now());
+            benchmark.projectMemberMapper.insert(member);
+            memberId = member.getId();
+        }
+    }
+}
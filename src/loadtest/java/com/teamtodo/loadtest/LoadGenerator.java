@@ -0,0 +1,123 @@
+package com.teamtodo.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests start at a fixed rate whether or not earlier ones have finished
+ *
+ * Latency is measured from the moment a request was due to start, not from when it was sent,
+ * so a stalled server shows up in the tail instead of quietly lowering the request rate.
+ */
+final class LoadGenerator {
+    
+    private final Workload workload;
+    
+    private final int maxOutstanding;
+    
+    private final AtomicInteger outstanding = new AtomicInteger();
+    
+    LoadGenerator(Workload workload, int maxOutstanding) {
+        this.workload = workload;
+        this.maxOutstanding = maxOutstanding;
+    }
+    
+    /**
+     * Start requests at the rate for the duration, then wait for the last ones to finish
+     */
+    Map<Operation, OperationStats> run(int rate, Duration duration, Duration drainTimeout) {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long due = start + (long) (i * intervalNanos);
+            if (due - end >= 0) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = workload.next();
+            OperationStats operationStats = stats.get(operation);
+            if (outstanding.get() >= maxOutstanding) {
+                operationStats.dropped.increment();
+                continue;
+            }
+            outstanding.incrementAndGet();
+            workload.send(operation).whenComplete((status, failure) -> {
+                outstanding.decrementAndGet();
+                operationStats.record(due, status, failure);
+            });
+        }
+        
+        long drainDeadline = System.nanoTime() + drainTimeout.toNanos();
+        while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        return stats;
+    }
+    
+    /**
+     * Outcomes of one operation, updated concurrently by the HTTP client threads
+     */
+    static final class OperationStats {
+        
+        final Histogram latencyMicros = new ConcurrentHistogram(3);
+        
+        final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>(); // Status code, "timeout" or "failed"
+        
+        final LongAdder errors = new LongAdder();
+        
+        final LongAdder skipped = new LongAdder();
+        
+        final LongAdder dropped = new LongAdder();
+        
+        private void record(long due, Integer status, Throwable failure) {
+            if (status != null && status == Workload.SKIPPED) {
+                skipped.increment();
+                return;
+            }
+            latencyMicros.recordValue(Math.max(0, (System.nanoTime() - due) / 1_000));
+            String outcome;
+            if (failure != null) {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause() : failure;
+                outcome = cause instanceof HttpTimeoutException ? "timeout" : "failed";
+            } else {
+                outcome = String.valueOf(status);
+            }
+            if (failure != null || status >= 400) {
+                errors.increment();
+            }
+            outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        }
+        
+        long requests() {
+            return latencyMicros.getTotalCount();
+        }
+        
+        Map<String, Long> outcomeCounts() {
+            Map<String, Long> counts = new TreeMap<>();
+            outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.teamtodo.loadtest;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Member API load test: boots the application on a seeded H2 database and drives a mixed
+ * list / check / add / remove workload at a fixed arrival rate over HTTP
+ *
+ * Run with mvn -Pload-test verify -Dloadtest.args="--rate=1000 --duration=2m", see RUNNING.md
+ * for the options. p50 / p99 / p99.9 latency and error rates per operation are printed and
+ * written to target/loadtest as JSON and HTML.
+ */
+public final class LoadTest {
+    
+    private LoadTest() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        System.out.printf("Seeding %d users, %d projects with %d members each%n",
+                options.users, options.projects, options.members);
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(options.clientThreads);
+        try (LoadTestServer server = LoadTestServer.start(options)) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientExecutor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            Workload workload = new Workload(options, server.baseUrl(), client, server.memberships());
+            LoadGenerator generator = new LoadGenerator(workload, options.maxOutstanding);
+            
+            System.out.printf("Warming up for %s%n", options.warmup);
+            generator.run(options.rate, options.warmup, options.requestTimeout);
+            
+            System.out.printf("Running %d requests/s for %s against %s%n", options.rate, options.duration, server.baseUrl());
+            Instant startedAt = Instant.now();
+            Map<Operation, LoadGenerator.OperationStats> stats =
+                    generator.run(options.rate, options.duration, options.requestTimeout);
+            
+            LoadTestReport report = LoadTestReport.of(options, startedAt, stats);
+            Path base = Path.of(options.report);
+            report.write(base);
+            System.out.print(report.summary());
+            System.out.printf("Report written to %s.json and %s.html%n", base, base);
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+    }
+}
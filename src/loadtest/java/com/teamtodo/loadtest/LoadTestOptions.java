@@ -0,0 +1,108 @@
+package com.teamtodo.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options of the load test, all given as --name=value
+ *
+ * Options the load test does not know are passed on to the application, so
+ * --teamtodo.membership-index.enabled=true runs the workload with the membership index on.
+ */
+final class LoadTestOptions {
+    
+    int users = 10_000;
+    
+    int projects = 100;
+    
+    int members = 100; // Per project, besides the owner
+    
+    int rate = 500; // Requests started per second, whether or not earlier ones have finished
+    
+    Duration warmup = Duration.ofSeconds(10);
+    
+    Duration duration = Duration.ofSeconds(60);
+    
+    int clientThreads = 16;
+    
+    int maxOutstanding = 10_000; // Arrivals beyond this many unfinished requests are counted as dropped
+    
+    Duration requestTimeout = Duration.ofSeconds(10);
+    
+    Map<Operation, Integer> mix = parseMix("list=40,check=40,add=10,remove=10");
+    
+    String report = "target/loadtest/report";
+    
+    final Map<String, String> applicationProperties = new LinkedHashMap<>();
+    
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            switch (name) {
+                case "users" -> options.users = Integer.parseInt(value);
+                case "projects" -> options.projects = Integer.parseInt(value);
+                case "members" -> options.members = Integer.parseInt(value);
+                case "rate" -> options.rate = Integer.parseInt(value);
+                case "warmup" -> options.warmup = DurationStyle.detectAndParse(value);
+                case "duration" -> options.duration = DurationStyle.detectAndParse(value);
+                case "client-threads" -> options.clientThreads = Integer.parseInt(value);
+                case "max-outstanding" -> options.maxOutstanding = Integer.parseInt(value);
+                case "request-timeout" -> options.requestTimeout = DurationStyle.detectAndParse(value);
+                case "mix" -> options.mix = parseMix(value);
+                case "report" -> options.report = value;
+                default -> options.applicationProperties.put(name, value);
+            }
+        }
+        if (options.members >= options.users) {
+            throw new IllegalArgumentException("members must be less than users, user 1 owns every project");
+        }
+        if (options.rate < 1) {
+            throw new IllegalArgumentException("rate must be at least 1");
+        }
+        return options;
+    }
+    
+    /**
+     * Parse operation weights like "list=40,check=40,add=10,remove=10", omitted operations get 0
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] weight = part.trim().split("=");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight in mix, got " + part);
+            }
+            weights.put(Operation.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("At least one operation needs a positive weight");
+        }
+        return weights;
+    }
+    
+    Map<String, Object> describe() {
+        Map<String, Object> described = new LinkedHashMap<>();
+        described.put("users", users);
+        described.put("projects", projects);
+        described.put("members", members);
+        described.put("rate", rate);
+        described.put("warmup", warmup.toString());
+        described.put("duration", duration.toString());
+        described.put("clientThreads", clientThreads);
+        described.put("maxOutstanding", maxOutstanding);
+        described.put("requestTimeout", requestTimeout.toString());
+        described.put("mix", mix);
+        described.put("applicationProperties", applicationProperties);
+        return described;
+    }
+}
@@ -0,0 +1,143 @@
+package com.teamtodo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Result of a load test run, written as JSON for comparing releases and as HTML for reading
+ */
+record LoadTestReport(Instant startedAt, Map<String, Object> options, double durationSeconds, int targetRate,
+                      double achievedRate, OperationResult total, List<OperationResult> operations) {
+    
+    /**
+     * Latencies in milliseconds, measured from when each request was due to start
+     */
+    record OperationResult(String operation, long requests, long errors, double errorRate, long skipped,
+                           long dropped, double p50Ms, double p99Ms, double p999Ms, double maxMs,
+                           Map<String, Long> outcomes) {
+        
+        static OperationResult of(String operation, Histogram latencyMicros, long errors, long skipped, long dropped,
+                                  Map<String, Long> outcomes) {
+            long requests = latencyMicros.getTotalCount();
+            return new OperationResult(operation, requests, errors, requests == 0 ? 0 : (double) errors / requests,
+                    skipped, dropped, millis(latencyMicros, 50), millis(latencyMicros, 99), millis(latencyMicros, 99.9),
+                    latencyMicros.getMaxValue() / 1_000.0, outcomes);
+        }
+        
+        private static double millis(Histogram latencyMicros, double percentile) {
+            return latencyMicros.getValueAtPercentile(percentile) / 1_000.0;
+        }
+    }
+    
+    static LoadTestReport of(LoadTestOptions options, Instant startedAt,
+                             Map<Operation, LoadGenerator.OperationStats> stats) {
+        List<OperationResult> operations = new ArrayList<>();
+        Histogram all = new Histogram(3);
+        long errors = 0;
+        long skipped = 0;
+        long dropped = 0;
+        Map<String, Long> outcomes = new TreeMap<>();
+        for (Map.Entry<Operation, LoadGenerator.OperationStats> entry : stats.entrySet()) {
+            LoadGenerator.OperationStats operation = entry.getValue();
+            if (options.mix.getOrDefault(entry.getKey(), 0) == 0) {
+                continue;
+            }
+            operations.add(OperationResult.of(entry.getKey().name().toLowerCase(Locale.ROOT), operation.latencyMicros,
+                    operation.errors.sum(), operation.skipped.sum(), operation.dropped.sum(), operation.outcomeCounts()));
+            all.add(operation.latencyMicros);
+            errors += operation.errors.sum();
+            skipped += operation.skipped.sum();
+            dropped += operation.dropped.sum();
+            operation.outcomeCounts().forEach((outcome, count) -> outcomes.merge(outcome, count, Long::sum));
+        }
+        double seconds = options.duration.toMillis() / 1_000.0;
+        return new LoadTestReport(startedAt, options.describe(), seconds, options.rate, all.getTotalCount() / seconds,
+                OperationResult.of("total", all, errors, skipped, dropped, outcomes), operations);
+    }
+    
+    /**
+     * Write report.json and report.html next to each other
+     * 
+     * @param base path without extension
+     */
+    void write(Path base) throws IOException {
+        if (base.getParent() != null) {
+            Files.createDirectories(base.getParent());
+        }
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        objectMapper.writeValue(base.resolveSibling(base.getFileName() + ".json").toFile(), this);
+        Files.writeString(base.resolveSibling(base.getFileName() + ".html"), html(), StandardCharsets.UTF_8);
+    }
+    
+    String summary() {
+        StringBuilder summary = new StringBuilder(String.format(Locale.ROOT,
+                "%-8s %10s %8s %9s %9s %9s %9s%n", "", "requests", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (OperationResult operation : withTotal()) {
+            summary.append(String.format(Locale.ROOT, "%-8s %10d %8d %9.2f %9.2f %9.2f %9.2f%n", operation.operation(),
+                    operation.requests(), operation.errors(), operation.p50Ms(), operation.p99Ms(), operation.p999Ms(),
+                    operation.maxMs()));
+        }
+        summary.append(String.format(Locale.ROOT, "%.1f requests/s achieved of %d targeted, %d dropped%n",
+                achievedRate, targetRate, total.dropped()));
+        return summary.toString();
+    }
+    
+    private List<OperationResult> withTotal() {
+        List<OperationResult> rows = new ArrayList<>(operations);
+        rows.add(total);
+        return rows;
+    }
+    
+    private String html() {
+        StringBuilder html = new StringBuilder("""
+                <!DOCTYPE html>
+                <html><head><meta charset="utf-8"><title>TeamTodo member API load test</title>
+                <style>
+                body { font-family: sans-serif; margin: 2em; }
+                table { border-collapse: collapse; margin-bottom: 1.5em; }
+                th, td { border: 1px solid #ccc; padding: 4px 10px; text-align: right; }
+                th:first-child, td:first-child { text-align: left; }
+                tr:last-child td { font-weight: bold; }
+                .errors { color: #c00; }
+                </style></head><body>
+                """);
+        html.append("<h1>Member API load test</h1>\n");
+        html.append(String.format(Locale.ROOT, "<p>Started %s, %.0f s at %d requests/s targeted, %.1f achieved.</p>%n",
+                escape(startedAt.toString()), durationSeconds, targetRate, achievedRate));
+        html.append("<table><tr><th>Operation</th><th>Requests</th><th>Errors</th><th>Error rate</th><th>Skipped</th>"
+                + "<th>Dropped</th><th>p50 ms</th><th>p99 ms</th><th>p99.9 ms</th><th>Max ms</th><th>Responses</th></tr>\n");
+        for (OperationResult operation : withTotal()) {
+            html.append(String.format(Locale.ROOT,
+                    "<tr><td>%s</td><td>%d</td><td%s>%d</td><td>%.3f%%</td><td>%d</td><td>%d</td>"
+                            + "<td>%.2f</td><td>%.2f</td><td>%.2f</td><td>%.2f</td><td>%s</td></tr>%n",
+                    escape(operation.operation()), operation.requests(), operation.errors() > 0 ? " class=\"errors\"" : "",
+                    operation.errors(), operation.errorRate() * 100, operation.skipped(), operation.dropped(),
+                    operation.p50Ms(), operation.p99Ms(), operation.p999Ms(), operation.maxMs(),
+                    escape(operation.outcomes().toString())));
+        }
+        html.append("</table>\n<h2>Options</h2>\n<table>\n");
+        options.forEach((name, value) -> html.append("<tr><td>").append(escape(name)).append("</td><td>")
+                .append(escape(String.valueOf(value))).append("</td></tr>\n"));
+        html.append("</table>\n</body></html>\n");
+        return html.toString();
+    }
+    
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
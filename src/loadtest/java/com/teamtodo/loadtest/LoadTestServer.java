@@ -0,0 +1,120 @@
+package com.teamtodo.loadtest;
+
+import com.teamtodo.TeamTodoApplication;
+import com.teamtodo.support.H2Schema;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The application with its web server on a random port, on an embedded H2 database in MySQL mode
+ *
+ * User 1 owns every project. Each project has the configured number of members, taken from a
+ * window of users that moves with the project id, so projects overlap but do not all share the
+ * same members.
+ */
+final class LoadTestServer implements AutoCloseable {
+    
+    static final long OWNER_ID = 1L;
+    
+    private static final int SEED_BATCH_SIZE = 1_000;
+    
+    private final ConfigurableApplicationContext context;
+    
+    private final JdbcTemplate jdbc;
+    
+    private LoadTestServer(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.jdbc = context.getBean(JdbcTemplate.class);
+    }
+    
+    static LoadTestServer start(LoadTestOptions options) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + H2Schema.url("loadtest" + System.nanoTime()),
+                "--spring.datasource.driver-class-name=" + H2Schema.DRIVER_CLASS_NAME,
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--teamtodo.user-search.enabled=false",
+                "--mybatis-plus.global-config.banner=false",
+                "--logging.level.root=WARN"));
+        for (Map.Entry<String, String> property : options.applicationProperties.entrySet()) {
+            args.add("--" + property.getKey() + "=" + property.getValue());
+        }
+        // Command line arguments, so they win over application.yml
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TeamTodoApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                // The generator is one caller, limiting it would measure the rate limits; pass
+                // --teamtodo.admission-control.enabled=true to include admission control
+                .properties("teamtodo.admission-control.enabled=false")
+                .run(args.toArray(String[]::new));
+        H2Schema.load(context.getBean(DataSource.class));
+        
+        LoadTestServer server = new LoadTestServer(context);
+        server.seed(options);
+        return server;
+    }
+    
+    String baseUrl() {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return "http://localhost:" + port + context.getEnvironment().getProperty("server.servlet.context-path", "");
+    }
+    
+    /**
+     * Every membership of the seeded projects, owners excluded
+     */
+    List<Workload.Membership> memberships() {
+        return jdbc.query("SELECT id, project_id, user_id FROM project_members WHERE user_id <> ? ORDER BY id",
+                (rs, row) -> new Workload.Membership(rs.getLong("project_id"), rs.getLong("user_id"), rs.getLong("id")),
+                OWNER_ID);
+    }
+    
+    @Override
+    public void close() {
+        context.close();
+    }
+    
+    private void seed(LoadTestOptions options) {
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (long id = 1; id <= options.users; id++) {
+            batch.add(new Object[] { id, "user" + id, "user" + id + "@example.com" });
+            flushIfFull(batch, id == options.users, "INSERT INTO users (id, username, email) VALUES (?, ?, ?)");
+        }
+        for (long id = 1; id <= options.projects; id++) {
+            batch.add(new Object[] { id, "project" + id, OWNER_ID });
+            flushIfFull(batch, id == options.projects, "INSERT INTO projects (id, name, owner_id) VALUES (?, ?, ?)");
+        }
+        
+        Timestamp joinedAt = Timestamp.valueOf(LocalDateTime.now());
+        String insertMember = "INSERT INTO project_members (project_id, user_id, role, joined_at) VALUES (?, ?, ?, ?)";
+        long others = options.users - 1L;
+        for (long projectId = 1; projectId <= options.projects; projectId++) {
+            batch.add(new Object[] { projectId, OWNER_ID, "OWNER", joinedAt });
+            for (long i = 0; i < options.members; i++) {
+                long userId = 2 + (projectId * options.members + i) % others;
+                batch.add(new Object[] { projectId, userId, "MEMBER", joinedAt });
+                flushIfFull(batch, false, insertMember);
+            }
+        }
+        flushIfFull(batch, true, insertMember);
+    }
+    
+    private void flushIfFull(List<Object[]> batch, boolean last, String sql) {
+        if (batch.size() >= SEED_BATCH_SIZE || (last && !batch.isEmpty())) {
+            jdbc.batchUpdate(sql, batch);
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.teamtodo.loadtest;
+
+/**
+ * Member API calls the workload mixes
+ */
+enum Operation {
+    
+    LIST, // GET /projects/{projectId}/members
+    
+    CHECK, // GET /projects/{projectId}/members/check?userId=
+    
+    ADD, // POST /projects/members
+    
+    REMOVE // DELETE /projects/{projectId}/members/{memberId}?requestUserId=
+}
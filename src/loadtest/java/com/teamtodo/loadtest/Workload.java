@@ -0,0 +1,164 @@
+package com.teamtodo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The mixed member API workload: picks the next operation by weight and sends it
+ *
+ * Adds take a user that is not a member from a pool and removes take a member from another,
+ * and each puts what it changed into the other pool once it succeeded, so add and remove can
+ * run at any rate without ever colliding on the same membership.
+ */
+final class Workload {
+    
+    /**
+     * A user's membership in a project, memberId is 0 while the user is not a member
+     */
+    record Membership(long projectId, long userId, long memberId) {
+    }
+    
+    /**
+     * Response status of a call the pools had nothing for
+     */
+    static final int SKIPPED = -1;
+    
+    private static final int SPARE_USERS_PER_PROJECT = 50;
+    
+    private final LoadTestOptions options;
+    
+    private final String baseUrl;
+    
+    private final HttpClient client;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private final Operation[] operations; // One entry per unit of weight
+    
+    private final Queue<Membership> members = new ConcurrentLinkedQueue<>();
+    
+    private final Queue<Membership> nonMembers = new ConcurrentLinkedQueue<>();
+    
+    Workload(LoadTestOptions options, String baseUrl, HttpClient client, List<Membership> seededMembers) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.client = client;
+        
+        List<Operation> weighted = new ArrayList<>();
+        for (Map.Entry<Operation, Integer> weight : options.mix.entrySet()) {
+            weighted.addAll(Collections.nCopies(weight.getValue(), weight.getKey()));
+        }
+        this.operations = weighted.toArray(Operation[]::new);
+        
+        // Shuffled, so consecutive adds and removes spread over the projects
+        List<Membership> shuffled = new ArrayList<>(seededMembers);
+        Collections.shuffle(shuffled);
+        members.addAll(shuffled);
+        long others = options.users - 1L;
+        List<Membership> spare = new ArrayList<>();
+        for (long projectId = 1; projectId <= options.projects; projectId++) {
+            for (long i = options.members; i < Math.min(others, options.members + SPARE_USERS_PER_PROJECT); i++) {
+                spare.add(new Membership(projectId, 2 + (projectId * options.members + i) % others, 0));
+            }
+        }
+        Collections.shuffle(spare);
+        nonMembers.addAll(spare);
+    }
+    
+    Operation next() {
+        return operations[ThreadLocalRandom.current().nextInt(operations.length)];
+    }
+    
+    /**
+     * Send one call of the operation
+     * 
+     * @return the response status, or {@link #SKIPPED}
+     */
+    CompletableFuture<Integer> send(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long projectId = 1 + random.nextLong(options.projects);
+        return switch (operation) {
+            case LIST -> send(HttpRequest.newBuilder(uri("/projects/" + projectId + "/members")).GET())
+                    .thenApply(HttpResponse::statusCode);
+            case CHECK -> send(HttpRequest.newBuilder(
+                    uri("/projects/" + projectId + "/members/check?userId=" + (1 + random.nextLong(options.users)))).GET())
+                    .thenApply(HttpResponse::statusCode);
+            case ADD -> add();
+            case REMOVE -> remove();
+        };
+    }
+    
+    private CompletableFuture<Integer> add() {
+        Membership candidate = nonMembers.poll();
+        if (candidate == null) {
+            return CompletableFuture.completedFuture(SKIPPED);
+        }
+        String body = "{\"projectId\":" + candidate.projectId() + ",\"userId\":" + candidate.userId() + "}";
+        return send(HttpRequest.newBuilder(uri("/projects/members"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)))
+                .handle((response, failure) -> {
+                    if (response != null && response.statusCode() == 200) {
+                        members.add(new Membership(candidate.projectId(), candidate.userId(), memberId(response)));
+                    } else {
+                        nonMembers.add(candidate);
+                    }
+                    if (failure != null) {
+                        throw failure instanceof RuntimeException e ? e : new IllegalStateException(failure);
+                    }
+                    return response.statusCode();
+                });
+    }
+    
+    private CompletableFuture<Integer> remove() {
+        Membership member = members.poll();
+        if (member == null) {
+            return CompletableFuture.completedFuture(SKIPPED);
+        }
+        return send(HttpRequest.newBuilder(uri("/projects/" + member.projectId() + "/members/" + member.memberId()
+                + "?requestUserId=" + LoadTestServer.OWNER_ID)).DELETE())
+                .handle((response, failure) -> {
+                    if (response != null && response.statusCode() == 200) {
+                        nonMembers.add(new Membership(member.projectId(), member.userId(), 0));
+                    } else {
+                        members.add(member);
+                    }
+                    if (failure != null) {
+                        throw failure instanceof RuntimeException e ? e : new IllegalStateException(failure);
+                    }
+                    return response.statusCode();
+                });
+    }
+    
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest.Builder request) {
+        return client.sendAsync(request.timeout(options.requestTimeout).build(), HttpResponse.BodyHandlers.ofString());
+    }
+    
+    private long memberId(HttpResponse<String> response) {
+        try {
+            JsonNode member = objectMapper.readTree(response.body());
+            return member.get("id").asLong();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unexpected add member response: " + response.body(), e);
+        }
+    }
+    
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+}
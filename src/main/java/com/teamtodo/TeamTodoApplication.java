@@ -2,12 +2,16 @@ package com.teamtodo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * TeamTodo Backend Application
  * Spring Boot 3.x with MyBatis Plus
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class TeamTodoApplication {
 
     public static void main(String[] args) {
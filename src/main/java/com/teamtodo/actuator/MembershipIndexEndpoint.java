@@ -0,0 +1,34 @@
+package com.teamtodo.actuator;
+
+import com.teamtodo.cache.MembershipIndex;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint reporting the memory footprint of the membership index
+ * GET /actuator/membershipindex for totals and the largest projects,
+ * GET /actuator/membershipindex/{projectId} for one project.
+ * Rebuilding the index from the database is a JMX operation, see {@link MembershipIndexJmxExtension}.
+ */
+@Component
+@Endpoint(id = "membershipindex")
+public class MembershipIndexEndpoint {
+    
+    private final MembershipIndex membershipIndex;
+    
+    public MembershipIndexEndpoint(MembershipIndex membershipIndex) {
+        this.membershipIndex = membershipIndex;
+    }
+    
+    @ReadOperation
+    public MembershipIndex.Report report() {
+        return membershipIndex.report();
+    }
+    
+    @ReadOperation
+    public MembershipIndex.ProjectFootprint project(@Selector Long projectId) {
+        return membershipIndex.report(projectId);
+    }
+}
@@ -0,0 +1,26 @@
+package com.teamtodo.actuator;
+
+import com.teamtodo.cache.MembershipIndex;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.EndpointJmxExtension;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuild operation of the membershipindex endpoint, over JMX only
+ * The web endpoint is read-only since it is exposed without authentication.
+ */
+@Component
+@EndpointJmxExtension(endpoint = MembershipIndexEndpoint.class)
+public class MembershipIndexJmxExtension {
+    
+    private final MembershipIndex membershipIndex;
+    
+    public MembershipIndexJmxExtension(MembershipIndex membershipIndex) {
+        this.membershipIndex = membershipIndex;
+    }
+    
+    @WriteOperation
+    public void rebuild() {
+        membershipIndex.rebuild();
+    }
+}
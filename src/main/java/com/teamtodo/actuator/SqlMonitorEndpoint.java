@@ -0,0 +1,32 @@
+package com.teamtodo.actuator;
+
+import com.teamtodo.monitoring.SqlMonitor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint listing recent slow SQL statements and requests over the statement budget
+ * GET /actuator/sqlmonitor to browse them.
+ * Clearing both lists is a JMX operation, see {@link SqlMonitorJmxExtension}.
+ */
+@Component
+@Endpoint(id = "sqlmonitor")
+public class SqlMonitorEndpoint {
+    
+    private final SqlMonitor sqlMonitor;
+    
+    public SqlMonitorEndpoint(SqlMonitor sqlMonitor) {
+        this.sqlMonitor = sqlMonitor;
+    }
+    
+    @ReadOperation
+    public Report report() {
+        return new Report(sqlMonitor.slowStatements(), sqlMonitor.violations());
+    }
+    
+    public record Report(List<SqlMonitor.SlowStatement> slowStatements, List<SqlMonitor.BudgetViolation> budgetViolations) {
+    }
+}
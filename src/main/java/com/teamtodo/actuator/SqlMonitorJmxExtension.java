@@ -0,0 +1,26 @@
+package com.teamtodo.actuator;
+
+import com.teamtodo.monitoring.SqlMonitor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.EndpointJmxExtension;
+import org.springframework.stereotype.Component;
+
+/**
+ * Clear operation of the sqlmonitor endpoint, over JMX only
+ * The web endpoint is read-only since it is exposed without authentication.
+ */
+@Component
+@EndpointJmxExtension(endpoint = SqlMonitorEndpoint.class)
+public class SqlMonitorJmxExtension {
+    
+    private final SqlMonitor sqlMonitor;
+    
+    public SqlMonitorJmxExtension(SqlMonitor sqlMonitor) {
+        this.sqlMonitor = sqlMonitor;
+    }
+    
+    @DeleteOperation
+    public void clear() {
+        sqlMonitor.clear();
+    }
+}
@@ -0,0 +1,172 @@
+package com.teamtodo.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.teamtodo.config.AdmissionControlProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control for the member endpoints
+ *
+ * A request first takes a permit from the token bucket of its caller on its endpoint, then one of
+ * the max-concurrent slots for the member requests running at once. Both checks are lock-free and
+ * never wait: a caller over its rate is refused (429), and when all slots are taken the request is
+ * shed (503) instead of queueing for a database connection behind everyone else.
+ *
+ * Exports stream for minutes and would hold a slot all that time, so they take one of the
+ * max-concurrent-exports permits instead, released once the response is written.
+ *
+ * Decisions are counted as teamtodo.admission.requests by endpoint and outcome (admitted,
+ * rate_limited, shed); teamtodo.admission.in_flight, teamtodo.admission.exports_in_flight and
+ * teamtodo.admission.callers are gauges.
+ */
+@Component
+public class AdmissionControl {
+    
+    private static final String EXPORT = "export";
+    
+    private final AdmissionControlProperties properties;
+    
+    private final MeterRegistry registry;
+    
+    private final LongSupplier clock;
+    
+    private final Cache<BucketKey, TokenBucket> buckets;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    private final AtomicInteger exportsInFlight = new AtomicInteger();
+    
+    @Autowired
+    public AdmissionControl(AdmissionControlProperties properties, MeterRegistry registry) {
+        this(properties, registry, System::nanoTime);
+    }
+    
+    AdmissionControl(AdmissionControlProperties properties, MeterRegistry registry, LongSupplier clock) {
+        this.properties = properties;
+        this.registry = registry;
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxCallers())
+                .expireAfterAccess(properties.getCallerIdleTimeout())
+                .build();
+        Gauge.builder("teamtodo.admission.in_flight", inFlight, AtomicInteger::get)
+                .description("Admitted member requests running")
+                .register(registry);
+        Gauge.builder("teamtodo.admission.exports_in_flight", exportsInFlight, AtomicInteger::get)
+                .description("Member exports streaming")
+                .register(registry);
+        Gauge.builder("teamtodo.admission.callers", buckets, Cache::estimatedSize)
+                .description("Callers with a rate limit bucket")
+                .register(registry);
+    }
+    
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+    
+    /**
+     * Admit a request, on success the caller must {@link #release()} once it completes
+     *
+     * @param endpoint endpoint name, see {@link AdmissionControlled}
+     * @param caller caller identity
+     */
+    public Decision admit(String endpoint, String caller) {
+        AdmissionControlProperties.RateLimit limit = properties.getRateLimits().get(endpoint);
+        if (limit != null) {
+            long now = clock.getAsLong();
+            TokenBucket bucket = buckets.get(new BucketKey(endpoint, caller),
+                    key -> new TokenBucket(limit.getPermitsPerSecond(), limit.getBurst(), now));
+            long wait = bucket.tryAcquire(now);
+            if (wait > 0) {
+                count(endpoint, "rate_limited");
+                return Decision.rateLimited(wait);
+            }
+        }
+        if (!tryEnter(inFlight, properties.getMaxConcurrent())) {
+            count(endpoint, "shed");
+            return Decision.SHED;
+        }
+        count(endpoint, "admitted");
+        return Decision.ADMITTED;
+    }
+    
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+    
+    /**
+     * Take an export permit, on success the caller must {@link #releaseExport()} once the export is written
+     *
+     * @return false when max-concurrent-exports exports are already streaming
+     */
+    public boolean admitExport() {
+        if (!tryEnter(exportsInFlight, properties.getMaxConcurrentExports())) {
+            count(EXPORT, "shed");
+            return false;
+        }
+        count(EXPORT, "admitted");
+        return true;
+    }
+    
+    public void releaseExport() {
+        exportsInFlight.decrementAndGet();
+    }
+    
+    int inFlight() {
+        return inFlight.get();
+    }
+    
+    int exportsInFlight() {
+        return exportsInFlight.get();
+    }
+    
+    private static boolean tryEnter(AtomicInteger counter, int max) {
+        while (true) {
+            int running = counter.get();
+            if (running >= max) {
+                return false;
+            }
+            if (counter.compareAndSet(running, running + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    private void count(String endpoint, String outcome) {
+        Counter.builder("teamtodo.admission.requests")
+                .description("Member requests by admission control outcome")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+    
+    private record BucketKey(String endpoint, String caller) {
+    }
+    
+    /**
+     * Outcome of {@link #admit}, retryAfterNanos is only set for a rate limited request
+     */
+    public record Decision(Outcome outcome, long retryAfterNanos) {
+        
+        static final Decision ADMITTED = new Decision(Outcome.ADMITTED, 0);
+        
+        static final Decision SHED = new Decision(Outcome.SHED, 0);
+        
+        static Decision rateLimited(long retryAfterNanos) {
+            return new Decision(Outcome.RATE_LIMITED, retryAfterNanos);
+        }
+    }
+    
+    public enum Outcome {
+        ADMITTED, RATE_LIMITED, SHED
+    }
+}
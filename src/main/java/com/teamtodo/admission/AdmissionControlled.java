@@ -0,0 +1,24 @@
+package com.teamtodo.admission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a handler method behind the {@link AdmissionControl}
+ * Only for handlers that finish their work before returning, the concurrency permit is
+ * released when the request completes.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AdmissionControlled {
+    
+    /**
+     * Endpoint name, selects the rate limit in teamtodo.admission-control.rate-limits
+     * Endpoints without one are only subject to the concurrency limit.
+     */
+    String value();
+}
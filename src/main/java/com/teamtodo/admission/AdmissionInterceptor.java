@@ -0,0 +1,125 @@
+package com.teamtodo.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@link AdmissionControlled} handlers through the {@link AdmissionControl}
+ * Refused requests get the usual {"error": message} body with a Retry-After header, 429 when the
+ * caller is over its rate and 503 when the server is shedding load.
+ *
+ * The caller is the caller header, else the requestUserId parameter, else the client address.
+ * X-Forwarded-For is only honoured when the connection comes from one of the trusted proxies: the
+ * client is then the last address in it that is not a trusted proxy itself, so a client cannot pick
+ * its own bucket by sending the header. Without trusted proxies every request behind a reverse
+ * proxy counts as the proxy's.
+ */
+public class AdmissionInterceptor implements HandlerInterceptor {
+    
+    private static final String ADMITTED = AdmissionInterceptor.class.getName() + ".ADMITTED";
+    
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+    
+    private final AdmissionControl admissionControl;
+    
+    private final ObjectMapper objectMapper;
+    
+    private final String callerHeader;
+    
+    private final Set<String> trustedProxies;
+    
+    public AdmissionInterceptor(AdmissionControl admissionControl, ObjectMapper objectMapper, String callerHeader,
+            Collection<String> trustedProxies) {
+        this.admissionControl = admissionControl;
+        this.objectMapper = objectMapper;
+        this.callerHeader = callerHeader;
+        this.trustedProxies = Set.copyOf(trustedProxies);
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod method) || !admissionControl.isEnabled()) {
+            return true;
+        }
+        AdmissionControlled endpoint = method.getMethodAnnotation(AdmissionControlled.class);
+        if (endpoint == null) {
+            return true;
+        }
+        
+        AdmissionControl.Decision decision = admissionControl.admit(endpoint.value(), caller(request));
+        switch (decision.outcome()) {
+            case ADMITTED -> {
+                request.setAttribute(ADMITTED, Boolean.TRUE);
+                return true;
+            }
+            case RATE_LIMITED -> {
+                long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.retryAfterNanos() + 999_999_999L));
+                refuse(response, HttpStatus.TOO_MANY_REQUESTS, seconds, "Too many requests, retry later");
+                return false;
+            }
+            default -> {
+                refuse(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Server is busy, retry later");
+                return false;
+            }
+        }
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ADMITTED) != null) {
+            request.removeAttribute(ADMITTED);
+            admissionControl.release();
+        }
+    }
+    
+    private String caller(HttpServletRequest request) {
+        String caller = request.getHeader(callerHeader);
+        if (caller == null || caller.isBlank()) {
+            caller = request.getParameter("requestUserId");
+        }
+        if (caller == null || caller.isBlank()) {
+            caller = clientAddress(request);
+        }
+        return caller;
+    }
+    
+    private String clientAddress(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        String forwardedFor = request.getHeader(FORWARDED_FOR);
+        if (forwardedFor == null || !trustedProxies.contains(address)) {
+            return address;
+        }
+        // Walk back from the hop nearest to us, each trusted proxy vouches for the one before it
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0 && trustedProxies.contains(address); i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty()) {
+                address = hop;
+            }
+        }
+        return address;
+    }
+    
+    private void refuse(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
@@ -0,0 +1,45 @@
+package com.teamtodo.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, kept as the time the next permit is due (GCRA)
+ *
+ * Each admitted request moves that time one interval further; a request is refused when it
+ * would move it more than burst intervals past now. Equivalent to a bucket of burst tokens
+ * refilled at the given rate, in a single AtomicLong updated by compare-and-set.
+ */
+class TokenBucket {
+    
+    private final long intervalNanos;
+    
+    private final long burstNanos;
+    
+    private final AtomicLong due;
+    
+    TokenBucket(double permitsPerSecond, int burst, long now) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.due = new AtomicLong(now);
+    }
+    
+    /**
+     * Take a permit
+     *
+     * @param now System.nanoTime()
+     * @return 0 when taken, otherwise the nanoseconds until one is available
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = due.get();
+            long next = (current - now > 0 ? current : now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (due.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.teamtodo.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through loads of the async caches in this package
+ *
+ * A miss only installs a placeholder future inside Caffeine's map lock, the loader then runs on
+ * the calling thread after the lock is released, see {@link MembershipCache}. Concurrent misses
+ * for the same key share one load. A null cache stands for caching being disabled and calls the
+ * loader directly.
+ */
+final class CacheLoads {
+    
+    private CacheLoads() {
+    }
+    
+    /**
+     * Return the value for a key, loading it on a miss
+     * Caffeine drops entries completed with null or exceptionally, so neither is cached.
+     */
+    static <K, V> V get(AsyncCache<K, V> cache, K key, Supplier<V> loader) {
+        if (cache == null) {
+            return loader.get();
+        }
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> value = cache.get(key, (k, executor) -> loading);
+        if (value == loading) {
+            try {
+                loading.complete(loader.get());
+            } catch (RuntimeException | Error e) {
+                loading.completeExceptionally(e);
+            }
+        }
+        return join(value);
+    }
+    
+    /**
+     * Return the values for many keys, loading all misses with a single call to the loader
+     * Caffeine calls the bulk function on this thread after placing per-key placeholders. An
+     * invalidation during the load removes the placeholder, so the loaded value is not cached.
+     */
+    static <K, V> Map<K, V> getAll(AsyncCache<K, V> cache, Collection<K> keys,
+                                   Function<Set<? extends K>, Map<K, V>> loader) {
+        if (cache == null) {
+            return loader.apply(Set.copyOf(keys));
+        }
+        return join(cache.getAll(keys, (missing, executor) -> CompletableFuture.completedFuture(loader.apply(missing))));
+    }
+    
+    /**
+     * Wait for a load, rethrowing the loader's own exception rather than a CompletionException
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
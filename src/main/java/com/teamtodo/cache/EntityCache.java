@@ -0,0 +1,69 @@
+package com.teamtodo.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.teamtodo.config.EntityCacheProperties;
+import com.teamtodo.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL'd read-through cache of user rows by primary key
+ * Only rows that exist are cached, so a user created a moment ago is found on the next lookup.
+ * Changes made by this service are invalidated explicitly, changes made outside it are picked up
+ * once the TTL has passed. Cached entities are shared and must not be modified.
+ * Hit, miss and eviction statistics are published as cache.* metrics with cache=users.
+ * Projects are not cached: writers lock the project row anyway, which proves it exists.
+ *
+ * Loads run on the calling thread outside Caffeine's map lock, see {@link MembershipCache}.
+ */
+@Component
+public class EntityCache implements MeterBinder {
+    
+    static final String USERS = "users";
+    
+    private final AsyncCache<Long, User> users; // Null when caching is disabled
+    
+    public EntityCache(EntityCacheProperties properties) {
+        if (!properties.isEnabled()) {
+            this.users = null;
+            return;
+        }
+        this.users = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumUsers())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .buildAsync();
+    }
+    
+    /**
+     * Return the users with the given ids, loading all misses with a single call to the loader
+     * Ids the loader finds no user for are absent from the result.
+     */
+    public Map<Long, User> getUsers(Collection<Long> userIds, Function<Set<? extends Long>, Map<Long, User>> loader) {
+        return CacheLoads.getAll(users, userIds, loader);
+    }
+    
+    /**
+     * Drop cached users after they were changed or deleted
+     */
+    public void invalidateUsers(Collection<Long> userIds) {
+        if (users != null) {
+            users.synchronous().invalidateAll(userIds);
+        }
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (users != null) {
+            CaffeineCacheMetrics.monitor(registry, users, USERS);
+        }
+    }
+}
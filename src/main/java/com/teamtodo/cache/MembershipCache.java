@@ -0,0 +1,97 @@
+package com.teamtodo.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.teamtodo.config.MembershipCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL'd cache of membership check results (AC5)
+ * Both positive and negative answers are cached, negatives for a shorter time.
+ * Hit, miss and eviction statistics are published as cache.* metrics with cache=membership.
+ *
+ * Entries are futures so that a miss only installs a placeholder inside Caffeine's map lock and
+ * runs the database load on the calling thread after the lock is released. A load blocking on
+ * JDBC inside the map's synchronized compute would pin the carrier thread of a virtual thread.
+ */
+@Component
+public class MembershipCache implements MeterBinder {
+    
+    static final String CACHE_NAME = "membership";
+    
+    private final AsyncCache<MembershipKey, Boolean> cache; // Null when caching is disabled
+    
+    public MembershipCache(MembershipCacheProperties properties) {
+        if (!properties.isEnabled()) {
+            this.cache = null;
+            return;
+        }
+        long ttlNanos = properties.getTtl().toNanos();
+        long negativeTtlNanos = properties.getNegativeTtl().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new Expiry<MembershipKey, Boolean>() {
+                    @Override
+                    public long expireAfterCreate(MembershipKey key, Boolean isMember, long currentTime) {
+                        return isMember ? ttlNanos : negativeTtlNanos;
+                    }
+                    
+                    @Override
+                    public long expireAfterUpdate(MembershipKey key, Boolean isMember, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, isMember, currentTime);
+                    }
+                    
+                    @Override
+                    public long expireAfterRead(MembershipKey key, Boolean isMember, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+    }
+    
+    /**
+     * Return the cached answer for (projectId, userId), computing it with the loader on a miss
+     * Concurrent misses for the same pair share one load.
+     */
+    public boolean get(Long projectId, Long userId, Supplier<Boolean> loader) {
+        return CacheLoads.get(cache, new MembershipKey(projectId, userId), loader);
+    }
+    
+    /**
+     * Return the answers for many pairs, loading all misses with a single call to the loader
+     * The loader must answer every pair it is given, including the negative ones.
+     */
+    public Map<MembershipKey, Boolean> getAll(Collection<MembershipKey> keys,
+                                              Function<Set<? extends MembershipKey>, Map<MembershipKey, Boolean>> loader) {
+        return CacheLoads.getAll(cache, keys, loader);
+    }
+    
+    /**
+     * Drop the cached answer for (projectId, userId) after the membership changed
+     */
+    public void invalidate(Long projectId, Long userId) {
+        if (cache != null) {
+            cache.synchronous().invalidate(new MembershipKey(projectId, userId));
+        }
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        }
+    }
+}
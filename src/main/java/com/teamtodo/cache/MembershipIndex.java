@@ -0,0 +1,296 @@
+package com.teamtodo.cache;
+
+import com.teamtodo.config.MembershipIndexProperties;
+import com.teamtodo.entity.ProjectMember;
+import com.teamtodo.mapper.ProjectMemberMapper;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory membership index (AC5): one compressed Roaring bitmap of user ids per project
+ *
+ * Built from project_members when the application is ready and kept current by the member
+ * service after each commit, so membership checks can be answered without touching MySQL.
+ * Each project has an immutable frozen bitmap plus a small concurrent map of the changes made
+ * since it was frozen, so readers never lock and a write only records its users. Writes to one
+ * project are serialized by a striped lock; once a project has collected max-pending-changes
+ * changes they are folded into a new frozen bitmap, which spreads the cost of copying the
+ * bitmap over that many writes. The index only reflects writes made through this instance,
+ * use the rebuild operation of the membershipindex actuator endpoint (JMX) to resync.
+ */
+@Component
+public class MembershipIndex {
+    
+    private static final Logger log = LoggerFactory.getLogger(MembershipIndex.class);
+    
+    private static final long MAX_INDEXED_USER_ID = 0xFFFFFFFFL; // Bitmaps hold unsigned 32-bit ids
+    
+    private static final int LOCK_STRIPES = 64;
+    
+    private final MembershipIndexProperties properties;
+    
+    private final ProjectMemberMapper projectMemberMapper;
+    
+    private final TaskExecutor taskExecutor;
+    
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock(); // Writes share it, a rebuild's swap excludes them
+    
+    private final ReentrantLock[] projectLocks = new ReentrantLock[LOCK_STRIPES];
+    
+    private volatile Map<Long, ProjectBitmap> bitmaps = new ConcurrentHashMap<>();
+    
+    private volatile boolean ready;
+    
+    private volatile Queue<Change> pendingChanges; // Non-null while a rebuild runs, set and cleared under the swap lock
+    
+    public MembershipIndex(MembershipIndexProperties properties,
+                           ProjectMemberMapper projectMemberMapper,
+                           @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.properties = properties;
+        this.projectMemberMapper = projectMemberMapper;
+        this.taskExecutor = taskExecutor;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            projectLocks[i] = new ReentrantLock();
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (properties.isEnabled()) {
+            taskExecutor.execute(this::rebuild);
+        }
+    }
+    
+    /**
+     * Whether this index can answer for (projectId, userId)
+     */
+    public boolean covers(Long projectId, Long userId) {
+        return ready && userId != null && userId >= 0 && userId <= MAX_INDEXED_USER_ID;
+    }
+    
+    /**
+     * Membership test, only meaningful when {@link #covers(Long, Long)} is true
+     */
+    public boolean contains(Long projectId, Long userId) {
+        ProjectBitmap bitmap = bitmaps.get(projectId);
+        return bitmap != null && bitmap.contains((int) userId.longValue());
+    }
+    
+    /**
+     * Record committed additions to a project
+     */
+    public void add(Long projectId, Collection<Long> userIds) {
+        apply(new Change(projectId, userIds, true));
+    }
+    
+    /**
+     * Record a committed removal from a project
+     */
+    public void remove(Long projectId, Long userId) {
+        apply(new Change(projectId, List.of(userId), false));
+    }
+    
+    /**
+     * Reload the whole index from project_members
+     * Changes applied while the reload runs are replayed on top of the loaded data.
+     */
+    public void rebuild() {
+        swapLock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                return; // A rebuild is already running
+            }
+            pendingChanges = new ConcurrentLinkedQueue<>();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        
+        try {
+            long started = System.nanoTime();
+            Map<Long, MutableRoaringBitmap> loaded = new HashMap<>();
+            long afterId = 0;
+            List<ProjectMember> chunk;
+            do {
+                chunk = projectMemberMapper.selectMembershipChunk(afterId, properties.getLoadBatchSize());
+                for (ProjectMember member : chunk) {
+                    if (member.getUserId() >= 0 && member.getUserId() <= MAX_INDEXED_USER_ID) {
+                        loaded.computeIfAbsent(member.getProjectId(), id -> new MutableRoaringBitmap())
+                              .add((int) member.getUserId().longValue());
+                    }
+                    afterId = member.getId();
+                }
+            } while (chunk.size() == properties.getLoadBatchSize());
+            
+            swapLock.writeLock().lock();
+            try {
+                for (Change change : pendingChanges) {
+                    MutableRoaringBitmap bitmap = loaded.computeIfAbsent(change.projectId(), id -> new MutableRoaringBitmap());
+                    change.applyTo(bitmap);
+                }
+                Map<Long, ProjectBitmap> frozen = new ConcurrentHashMap<>();
+                loaded.forEach((projectId, bitmap) -> frozen.put(projectId, new ProjectBitmap(freeze(bitmap))));
+                bitmaps = frozen;
+                ready = true;
+            } finally {
+                pendingChanges = null;
+                swapLock.writeLock().unlock();
+            }
+            log.info("Membership index built for {} projects in {} ms",
+                    loaded.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            swapLock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            log.warn("Membership index rebuild failed, checks keep using the database", e);
+        }
+    }
+    
+    /**
+     * Memory footprint of the index, largest projects first
+     */
+    public Report report() {
+        Map<Long, ProjectBitmap> snapshot = bitmaps;
+        List<ProjectFootprint> projects = new ArrayList<>(snapshot.size());
+        snapshot.forEach((projectId, bitmap) -> projects.add(bitmap.footprint(projectId)));
+        projects.sort(Comparator.comparingLong(ProjectFootprint::bytes).reversed());
+        
+        long members = projects.stream().mapToLong(ProjectFootprint::members).sum();
+        long bytes = projects.stream().mapToLong(ProjectFootprint::bytes).sum();
+        return new Report(ready, properties.isOffHeap(), projects.size(), members, bytes,
+                projects.subList(0, Math.min(properties.getReportLimit(), projects.size())));
+    }
+    
+    /**
+     * Memory footprint of a single project, null when the project has no indexed members
+     */
+    public ProjectFootprint report(Long projectId) {
+        ProjectBitmap bitmap = bitmaps.get(projectId);
+        return bitmap == null ? null : bitmap.footprint(projectId);
+    }
+    
+    private void apply(Change change) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        swapLock.readLock().lock();
+        ReentrantLock projectLock = projectLocks[Math.floorMod(change.projectId().hashCode(), LOCK_STRIPES)];
+        projectLock.lock();
+        try {
+            Queue<Change> pending = pendingChanges;
+            if (pending != null) {
+                pending.add(change);
+            }
+            Map<Long, ProjectBitmap> current = bitmaps;
+            ProjectBitmap bitmap = current.computeIfAbsent(change.projectId(),
+                    id -> new ProjectBitmap(freeze(new MutableRoaringBitmap())));
+            bitmap.record(change);
+            if (bitmap.changes.size() > properties.getMaxPendingChanges()) {
+                MutableRoaringBitmap merged = bitmap.frozen.toMutableRoaringBitmap();
+                bitmap.changes.forEach((userId, added) -> {
+                    if (added) {
+                        merged.add(userId);
+                    } else {
+                        merged.remove(userId);
+                    }
+                });
+                current.put(change.projectId(), new ProjectBitmap(freeze(merged)));
+            }
+        } finally {
+            projectLock.unlock();
+            swapLock.readLock().unlock();
+        }
+    }
+    
+    private ImmutableRoaringBitmap freeze(MutableRoaringBitmap bitmap) {
+        bitmap.runOptimize();
+        int size = bitmap.serializedSizeInBytes();
+        ByteBuffer buffer = properties.isOffHeap() ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+        bitmap.serialize(buffer);
+        buffer.flip();
+        return new ImmutableRoaringBitmap(buffer);
+    }
+    
+    private record Change(Long projectId, Collection<Long> userIds, boolean added) {
+        
+        void applyTo(MutableRoaringBitmap bitmap) {
+            for (Long userId : userIds) {
+                if (userId >= 0 && userId <= MAX_INDEXED_USER_ID) {
+                    if (added) {
+                        bitmap.add((int) userId.longValue());
+                    } else {
+                        bitmap.remove((int) userId.longValue());
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * A project's frozen bitmap and the changes made since, user id to whether it was added
+     * Readers see the changes without locking; only the writer holding the project's lock adds to them,
+     * and a merge publishes a new instance instead of clearing them.
+     */
+    private static final class ProjectBitmap {
+        
+        private final ImmutableRoaringBitmap frozen;
+        
+        private final Map<Integer, Boolean> changes = new ConcurrentHashMap<>();
+        
+        ProjectBitmap(ImmutableRoaringBitmap frozen) {
+            this.frozen = frozen;
+        }
+        
+        boolean contains(int userId) {
+            Boolean changed = changes.get(userId);
+            return changed != null ? changed : frozen.contains(userId);
+        }
+        
+        void record(Change change) {
+            for (Long userId : change.userIds()) {
+                if (userId >= 0 && userId <= MAX_INDEXED_USER_ID) {
+                    changes.put((int) userId.longValue(), change.added());
+                }
+            }
+        }
+        
+        ProjectFootprint footprint(Long projectId) {
+            long members = frozen.getLongCardinality();
+            for (Map.Entry<Integer, Boolean> changed : changes.entrySet()) {
+                if (changed.getValue() != frozen.contains(changed.getKey())) {
+                    members += changed.getValue() ? 1 : -1;
+                }
+            }
+            return new ProjectFootprint(projectId, members, frozen.serializedSizeInBytes());
+        }
+    }
+    
+    public record ProjectFootprint(Long projectId, long members, long bytes) {
+    }
+    
+    public record Report(boolean ready, boolean offHeap, int projects, long members, long bytes,
+                         List<ProjectFootprint> largestProjects) {
+    }
+}
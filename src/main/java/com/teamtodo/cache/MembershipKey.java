@@ -0,0 +1,7 @@
+package com.teamtodo.cache;
+
+/**
+ * Cache key for a (project, user) membership pair
+ */
+public record MembershipKey(Long projectId, Long userId) {
+}
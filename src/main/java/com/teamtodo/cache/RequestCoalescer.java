@@ -0,0 +1,99 @@
+package com.teamtodo.cache;
+
+import com.teamtodo.config.RequestCoalescingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical reads (T005-03)
+ *
+ * The first caller for a key runs the read on its own thread; callers arriving with the same key
+ * while it runs wait for and share its result, or its exception. Nothing is kept afterwards, so
+ * this only collapses bursts and never serves a result to a caller that arrived after the read
+ * finished. A follower that waits longer than the timeout runs the read itself instead.
+ * Calls are counted as teamtodo.coalescing.requests by outcome: executed, collapsed, timed_out.
+ */
+@Component
+public class RequestCoalescer {
+    
+    private final RequestCoalescingProperties properties;
+    
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    
+    private final Counter executed;
+    
+    private final Counter collapsed;
+    
+    private final Counter timedOut;
+    
+    public RequestCoalescer(RequestCoalescingProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.executed = counter(registry, "executed");
+        this.collapsed = counter(registry, "collapsed");
+        this.timedOut = counter(registry, "timed_out");
+    }
+    
+    /**
+     * Run the read for the key, or share the result of the same read already running
+     * The result may be handed to several callers and must not be modified.
+     * 
+     * @param key identifies the read, including every parameter that affects its result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> read) {
+        if (!properties.isEnabled()) {
+            return read.get();
+        }
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+        if (running == null) {
+            executed.increment();
+            try {
+                T result = read.get();
+                flight.complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                flight.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, flight);
+            }
+        }
+        
+        try {
+            T result = (T) running.get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            collapsed.increment();
+            return result;
+        } catch (TimeoutException e) {
+            timedOut.increment();
+            return read.get();
+        } catch (ExecutionException e) {
+            collapsed.increment();
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shared read", e);
+        }
+    }
+    
+    private static Counter counter(MeterRegistry registry, String outcome) {
+        return Counter.builder("teamtodo.coalescing.requests")
+                .description("Coalesced reads by whether they ran the query or shared another call's result")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
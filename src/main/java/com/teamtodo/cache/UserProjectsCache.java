@@ -0,0 +1,66 @@
+package com.teamtodo.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.teamtodo.config.UserProjectsCacheProperties;
+import com.teamtodo.dto.UserProjectResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Per-user cache of the head of the user's project list (AC2), newest membership first
+ * Membership changes invalidate the user's entry. The size is bounded by the number of cached
+ * rows rather than users, so users in thousands of projects cannot crowd the heap.
+ * Hit, miss and eviction statistics are published as cache.* metrics with cache=user-projects.
+ *
+ * Loads run on the calling thread outside Caffeine's map lock, see {@link MembershipCache}.
+ */
+@Component
+public class UserProjectsCache implements MeterBinder {
+    
+    static final String CACHE_NAME = "user-projects";
+    
+    private final AsyncCache<Long, List<UserProjectResponse>> cache; // Null when caching is disabled
+    
+    public UserProjectsCache(UserProjectsCacheProperties properties) {
+        if (!properties.isEnabled()) {
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumRows())
+                .weigher((Long userId, List<UserProjectResponse> projects) -> projects.size() + 1)
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .buildAsync();
+    }
+    
+    /**
+     * Return the cached project list head of a user, loading it on a miss
+     * Concurrent misses for the same user share one load. The list must not be modified.
+     */
+    public List<UserProjectResponse> get(Long userId, Supplier<List<UserProjectResponse>> loader) {
+        return CacheLoads.get(cache, userId, () -> List.copyOf(loader.get()));
+    }
+    
+    /**
+     * Drop the cached list of a user after one of their memberships changed
+     */
+    public void invalidate(Long userId) {
+        if (cache != null) {
+            cache.synchronous().invalidate(userId);
+        }
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        }
+    }
+}
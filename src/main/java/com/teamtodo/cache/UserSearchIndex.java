@@ -0,0 +1,285 @@
+package com.teamtodo.cache;
+
+import com.teamtodo.config.UserSearchProperties;
+import com.teamtodo.dto.UserSearchResult;
+import com.teamtodo.entity.User;
+import com.teamtodo.mapper.UserMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory prefix index over usernames and emails (AC1)
+ *
+ * Every user is indexed under its lower-cased username and email and under each word of them
+ * (split on '.', '_', '-', '+' and '@'), so "jo", "john@", "doe" and "example.com" all match
+ * john.doe@example.com. Terms live in a sorted set as "term\0userId", which turns a prefix
+ * lookup into a range scan that stops after a bounded number of candidates. Whole usernames and
+ * emails are also kept in sets of their own, so the higher rank tiers are scanned separately and
+ * a crowd of word matches sorting earlier cannot use up the budget before them.
+ *
+ * Loaded from the users table when the application is ready, then kept current by polling
+ * rows whose updated_at moved, with a periodic full reload to drop deleted users.
+ */
+@Component
+public class UserSearchIndex {
+    
+    private static final Logger log = LoggerFactory.getLogger(UserSearchIndex.class);
+    
+    private static final char SEPARATOR = '\u0000';
+    
+    private static final int CANDIDATES_PER_RESULT = 8; // Scan budget relative to the requested limit
+    
+    private final UserSearchProperties properties;
+    
+    private final UserMapper userMapper;
+    
+    private final TaskExecutor taskExecutor;
+    
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    
+    private volatile Index index = new Index();
+    
+    private volatile boolean ready;
+    
+    private LocalDateTime syncedUpdatedAt; // Watermark of the incremental sync, guarded by refreshing
+    
+    private long lastRebuild;
+    
+    public UserSearchIndex(UserSearchProperties properties,
+                           UserMapper userMapper,
+                           @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.properties = properties;
+        this.userMapper = userMapper;
+        this.taskExecutor = taskExecutor;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (properties.isEnabled()) {
+            taskExecutor.execute(this::refresh);
+        }
+    }
+    
+    /**
+     * Periodic sync: a full reload every rebuild interval, otherwise only users changed since the last sync
+     */
+    @Scheduled(fixedDelayString = "${teamtodo.user-search.refresh-interval:PT30S}")
+    public void refresh() {
+        if (!properties.isEnabled() || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (!ready || System.currentTimeMillis() - lastRebuild >= properties.getRebuildInterval().toMillis()) {
+                rebuild();
+            } else {
+                syncChanges();
+            }
+        } catch (RuntimeException e) {
+            log.warn("User search index refresh failed, search keeps using the previous data", e);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    /**
+     * Top matches for a normalized (trimmed, lower-cased) query, best first
+     * Exact username or email matches rank first, then username prefixes, email prefixes
+     * and word prefixes, shorter usernames first within a tier.
+     */
+    public List<UserSearchResult> search(String query, int limit) {
+        Index current = index;
+        Map<Long, Integer> tiers = new HashMap<>();
+        int budget = limit * CANDIDATES_PER_RESULT;
+        // Best tiers first, each with its own budget: exact terms, username prefixes, email prefixes, any term
+        collect(current, current.terms.subSet(query + SEPARATOR, true, query + SEPARATOR + Character.MAX_VALUE, false),
+                query, budget, tiers);
+        collect(current, prefixRange(current.usernames, query), query, budget, tiers);
+        collect(current, prefixRange(current.emails, query), query, budget, tiers);
+        collect(current, prefixRange(current.terms, query), query, budget, tiers);
+        
+        return tiers.entrySet().stream()
+                .map(entry -> new Ranked(current.users.get(entry.getKey()), entry.getValue()))
+                .filter(ranked -> ranked.user() != null)
+                .sorted(Comparator.comparingInt(Ranked::tier)
+                        .thenComparingInt(ranked -> ranked.user().getUsername().length())
+                        .thenComparing(ranked -> ranked.user().getUsername()))
+                .limit(limit)
+                .map(Ranked::user)
+                .toList();
+    }
+    
+    /**
+     * Normalize raw search input the same way indexed terms are normalized
+     */
+    public static String normalize(String query) {
+        return query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static NavigableSet<String> prefixRange(NavigableSet<String> keys, String prefix) {
+        return keys.subSet(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+    
+    private static void collect(Index current, NavigableSet<String> range, String query, int budget,
+                                Map<Long, Integer> tiers) {
+        for (String key : range) {
+            if (budget-- == 0) {
+                break;
+            }
+            Long userId = Long.valueOf(key.substring(key.lastIndexOf(SEPARATOR) + 1));
+            UserSearchResult user = current.users.get(userId);
+            if (user != null) {
+                tiers.merge(userId, tier(user, query), Math::min);
+            }
+        }
+    }
+    
+    private void rebuild() {
+        long started = System.nanoTime();
+        Index loaded = new Index();
+        LocalDateTime watermark = null;
+        long afterId = 0;
+        List<User> chunk;
+        do {
+            chunk = userMapper.selectUserChunk(afterId, properties.getLoadBatchSize());
+            for (User user : chunk) {
+                loaded.put(user);
+                afterId = user.getId();
+                if (user.getUpdatedAt() != null && (watermark == null || user.getUpdatedAt().isAfter(watermark))) {
+                    watermark = user.getUpdatedAt();
+                }
+            }
+        } while (chunk.size() == properties.getLoadBatchSize());
+        
+        index = loaded;
+        syncedUpdatedAt = watermark;
+        lastRebuild = System.currentTimeMillis();
+        ready = true;
+        log.info("User search index built for {} users in {} ms",
+                loaded.users.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    private void syncChanges() {
+        if (syncedUpdatedAt == null) {
+            rebuild();
+            return;
+        }
+        // Re-read a window before the watermark so rows committed late with an older timestamp are not missed
+        LocalDateTime updatedAt = syncedUpdatedAt.minus(properties.getRefreshOverlap());
+        long afterId = 0;
+        List<User> chunk;
+        do {
+            chunk = userMapper.selectUsersUpdatedAfter(updatedAt, afterId, properties.getLoadBatchSize());
+            for (User user : chunk) {
+                index.put(user);
+                updatedAt = user.getUpdatedAt();
+                afterId = user.getId();
+                if (updatedAt.isAfter(syncedUpdatedAt)) {
+                    syncedUpdatedAt = updatedAt;
+                }
+            }
+        } while (chunk.size() == properties.getLoadBatchSize());
+    }
+    
+    private static int tier(UserSearchResult user, String query) {
+        String username = user.getUsername().toLowerCase(Locale.ROOT);
+        String email = user.getEmail().toLowerCase(Locale.ROOT);
+        if (username.equals(query) || email.equals(query)) {
+            return 0;
+        }
+        if (username.startsWith(query)) {
+            return 1;
+        }
+        if (email.startsWith(query)) {
+            return 2;
+        }
+        return 3;
+    }
+    
+    private static Set<String> terms(UserSearchResult user) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String value : new String[] { user.getUsername(), user.getEmail() }) {
+            if (value == null) {
+                continue;
+            }
+            String normalized = normalize(value);
+            terms.add(normalized);
+            for (String word : normalized.split("[._\\-+@]+")) {
+                if (!word.isEmpty()) {
+                    terms.add(word);
+                }
+            }
+            int at = normalized.indexOf('@');
+            if (at >= 0 && at < normalized.length() - 1) {
+                terms.add(normalized.substring(at + 1)); // Whole email domain
+            }
+        }
+        return terms;
+    }
+    
+    /**
+     * One generation of the index, replaced wholesale by a full reload
+     */
+    private static class Index {
+        
+        private final Map<Long, UserSearchResult> users = new ConcurrentHashMap<>();
+        
+        private final NavigableSet<String> terms = new ConcurrentSkipListSet<>();
+        
+        private final NavigableSet<String> usernames = new ConcurrentSkipListSet<>();
+        
+        private final NavigableSet<String> emails = new ConcurrentSkipListSet<>();
+        
+        void put(User user) {
+            UserSearchResult result = new UserSearchResult(user.getId(), user.getUsername(), user.getEmail());
+            UserSearchResult previous = users.put(user.getId(), result);
+            Set<String> current = terms(result);
+            if (previous != null) {
+                for (String term : terms(previous)) {
+                    if (!current.contains(term)) {
+                        terms.remove(term + SEPARATOR + user.getId());
+                    }
+                }
+            }
+            replace(usernames, previous == null ? null : previous.getUsername(), result.getUsername(), user.getId());
+            replace(emails, previous == null ? null : previous.getEmail(), result.getEmail(), user.getId());
+            for (String term : current) {
+                terms.add(term + SEPARATOR + user.getId());
+            }
+        }
+        
+        private static void replace(NavigableSet<String> keys, String previous, String current, Long userId) {
+            if (previous != null) {
+                keys.remove(normalize(previous) + SEPARATOR + userId);
+            }
+            if (current != null) {
+                keys.add(normalize(current) + SEPARATOR + userId);
+            }
+        }
+    }
+    
+    private record Ranked(UserSearchResult user, int tier) {
+    }
+}
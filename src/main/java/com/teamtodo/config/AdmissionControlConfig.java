@@ -0,0 +1,34 @@
+package com.teamtodo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teamtodo.admission.AdmissionControl;
+import com.teamtodo.admission.AdmissionInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the admission control interceptor in front of the {@code @AdmissionControlled} handlers
+ */
+@Configuration
+public class AdmissionControlConfig implements WebMvcConfigurer {
+    
+    private final AdmissionControl admissionControl;
+    
+    private final ObjectMapper objectMapper;
+    
+    private final AdmissionControlProperties properties;
+    
+    public AdmissionControlConfig(AdmissionControl admissionControl, ObjectMapper objectMapper,
+            AdmissionControlProperties properties) {
+        this.admissionControl = admissionControl;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionInterceptor(admissionControl, objectMapper, properties.getCallerHeader(),
+                properties.getTrustedProxies()));
+    }
+}
@@ -0,0 +1,61 @@
+package com.teamtodo.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings for per-caller rate limits and load shedding on the member endpoints
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "teamtodo.admission-control")
+public class AdmissionControlProperties {
+    
+    private boolean enabled = true;
+    
+    private int maxConcurrent = 20; // Member requests running at once, more are answered 503 instead of queueing
+    
+    private int maxConcurrentExports = 2; // Exports streaming at once, counted apart from max-concurrent
+    
+    private String callerHeader = "X-Caller-Id"; // Identifies the caller, else requestUserId, else the client address
+    
+    private List<String> trustedProxies = new ArrayList<>(); // Proxy addresses whose X-Forwarded-For names the client
+    
+    private int maxCallers = 100_000;
+    
+    private Duration callerIdleTimeout = Duration.ofMinutes(10); // Must exceed the time a bucket takes to refill
+    
+    private Map<String, @Valid RateLimit> rateLimits = new HashMap<>(Map.of(
+            "check", RateLimit.of(200, 400),
+            "list", RateLimit.of(50, 100),
+            "add", RateLimit.of(20, 40)));
+    
+    /**
+     * Token bucket of one caller on one endpoint
+     */
+    @Data
+    public static class RateLimit {
+        
+        @Positive
+        private double permitsPerSecond;
+        
+        @Positive
+        private int burst; // Requests a caller idle long enough may send at once
+        
+        public static RateLimit of(double permitsPerSecond, int burst) {
+            RateLimit limit = new RateLimit();
+            limit.setPermitsPerSecond(permitsPerSecond);
+            limit.setBurst(burst);
+            return limit;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.teamtodo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-process cache of user rows looked up by primary key
+ */
+@Data
+@ConfigurationProperties(prefix = "teamtodo.entity-cache")
+public class EntityCacheProperties {
+    
+    private boolean enabled = true;
+    
+    private long maximumUsers = 100_000;
+    
+    private Duration ttl = Duration.ofMinutes(1); // Backstop for changes made outside this service
+}
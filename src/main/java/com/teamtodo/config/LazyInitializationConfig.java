@@ -0,0 +1,32 @@
+package com.teamtodo.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Beans kept eager when spring.main.lazy-initialization (LAZY_INITIALIZATION) is on
+ *
+ * Lazy initialization shortens startup by creating beans on first use, which is fine for the
+ * request path but would silently switch off background work: @Scheduled methods are only
+ * registered once their bean exists, so heartbeats, lag checks, index refreshes and change log
+ * compaction would never run. Beans with @Scheduled methods are therefore created at startup.
+ */
+@Configuration(proxyBeanMethods = false)
+public class LazyInitializationConfig {
+    
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && hasScheduledMethods(beanType);
+    }
+    
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        return AnnotationUtils.isCandidateClass(beanType, Scheduled.class)
+                && !MethodIntrospector.selectMethods(beanType, (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                        AnnotatedElementUtils.hasAnnotation(method, Scheduled.class) ? Boolean.TRUE : null).isEmpty();
+    }
+}
@@ -0,0 +1,20 @@
+package com.teamtodo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for compacting the membership change log behind GET /projects/{projectId}/members/changes
+ */
+@Data
+@ConfigurationProperties(prefix = "teamtodo.member-changes")
+public class MemberChangeLogProperties {
+    
+    private Duration retention = Duration.ofDays(30); // Clients further behind get a snapshot
+    
+    private Duration compactionInterval = Duration.ofHours(1);
+    
+    private int compactionBatchSize = 1_000; // Ids deleted per statement, keeps each delete short
+}
@@ -0,0 +1,34 @@
+package com.teamtodo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.teamtodo.dto.MemberColumns;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registers the Smile converter behind the binary columnar member list
+ * It writes with a copy of the application's ObjectMapper, so MemberColumns goes through the same
+ * streaming serializer as in the JSON form, only into a Smile generator.
+ */
+@Configuration
+public class MemberColumnsConfig implements WebMvcConfigurer {
+    
+    private final ObjectMapper objectMapper;
+    
+    public MemberColumnsConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        MappingJackson2SmileHttpMessageConverter converter =
+                new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory()));
+        converter.setSupportedMediaTypes(List.of(MemberColumns.SMILE_MEDIA_TYPE));
+        converters.add(converter); // Last, so Accept: */* still gets JSON
+    }
+}
@@ -0,0 +1,24 @@
+package com.teamtodo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the member change push behind GET /projects/{projectId}/members/events
+ */
+@Data
+@ConfigurationProperties(prefix = "teamtodo.member-events")
+public class MemberEventsProperties {
+    
+    private boolean enabled = true;
+    
+    private int maxSubscribers = 10_000; // Open event streams over all projects on this instance
+    
+    private int maxQueuedEvents = 64; // Events waiting for a slow subscriber before it is disconnected
+    
+    private Duration timeout = Duration.ofMinutes(30); // Streams are closed after this, EventSource reconnects
+    
+    private Duration heartbeatInterval = Duration.ofSeconds(30); // Keeps idle streams open through proxies
+}
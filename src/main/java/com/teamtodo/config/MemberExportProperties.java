@@ -0,0 +1,18 @@
+package com.teamtodo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the member export behind GET /projects/{projectId}/members/export
+ */
+@Data
+@ConfigurationProperties(prefix = "teamtodo.member-export")
+public class MemberExportProperties {
+    
+    private int chunkSize = 1_000; // Rows read per query, the connection is returned between chunks
+    
+    private Duration timeout = Duration.ofMinutes(30); // Async timeout of an export request, other requests keep the default
+}
@@ -0,0 +1,22 @@
+package com.teamtodo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-process membership cache behind the access control check
+ */
+@Data
+@ConfigurationProperties(prefix = "teamtodo.membership-cache")
+public class MembershipCacheProperties {
+    
+    private boolean enabled = true;
+    
+    private long maximumSize = 100_000;
+    
+    private Duration ttl = Duration.ofMinutes(5); // How long a positive result is trusted
+    
+    private Duration negativeTtl = Duration.ofSeconds(30); // How long a negative result is trusted
+}
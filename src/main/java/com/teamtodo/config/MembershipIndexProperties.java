@@ -0,0 +1,22 @@
+package com.teamtodo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the in-memory per-project membership bitmap index
+ */
+@Data
+@ConfigurationProperties(prefix = "teamtodo.membership-index")
+public class MembershipIndexProperties {
+    
+    private boolean enabled = false;
+    
+    private boolean offHeap = false; // Keep bitmaps in direct buffers outside the Java heap
+    
+    private int loadBatchSize = 10_000; // Rows read per query while building the index
+    
+    private int maxPendingChanges = 1_024; // Changes kept beside a project's frozen bitmap before they are merged into it
+    
+    private int reportLimit = 20; // Largest projects listed in the footprint report
+}
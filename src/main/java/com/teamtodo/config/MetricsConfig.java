@@ -0,0 +1,28 @@
+package com.teamtodo.config;
+
+import com.teamtodo.monitoring.MapperMetricsInterceptor;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Micrometer instrumentation, exposed on /actuator/prometheus
+ *
+ * Endpoints are timed by Spring Boot as http.server.requests, services annotated with @Timed as
+ * teamtodo.service and mapper calls as teamtodo.mapper, all with percentile histograms. Comparing
+ * service and mapper time with request time separates database time from serialization time.
+ */
+@Configuration
+public class MetricsConfig {
+    
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+    
+    @Bean
+    public MapperMetricsInterceptor mapperMetricsInterceptor(MeterRegistry registry) {
+        return new MapperMetricsInterceptor(registry);
+    }
+}
@@ -0,0 +1,63 @@
+package com.teamtodo.config;
+
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.mybatis.spring.mapper.MapperScannerConfigurer;
+import org.springframework.beans.factory.aot.BeanRegistrationExcludeFilter;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
+import org.springframework.beans.factory.support.RegisteredBean;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+
+/**
+ * Lets the MyBatis mappers survive Spring AOT processing (fast-start profile)
+ *
+ * The mapper scanner registers one MapperFactoryBean per mapper interface, naming the interface
+ * by class name. AOT-generated code cannot turn that name into the constructor's Class argument
+ * and would try to autowire one, so the definitions are given the interface itself before the
+ * code is generated. Generated code also drops the autowire-by-type mode the scanner relies on to
+ * inject the SqlSessionTemplate, so that becomes an explicit reference. The scanner is then left
+ * out of the generated definitions, otherwise it would register every mapper a second time at
+ * startup.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MyBatisAotConfig {
+    
+    @Bean
+    static MergedBeanDefinitionPostProcessor mapperFactoryBeanTypeResolver() {
+        return (beanDefinition, beanType, beanName) -> resolveMapperInterface(beanDefinition);
+    }
+    
+    private static void resolveMapperInterface(RootBeanDefinition beanDefinition) {
+        if (!beanDefinition.hasBeanClass() || !MapperFactoryBean.class.isAssignableFrom(beanDefinition.getBeanClass())
+                || !beanDefinition.getResolvableType().hasUnresolvableGenerics()) {
+            return;
+        }
+        Object mapperInterface = beanDefinition.getPropertyValues().get("mapperInterface");
+        if (mapperInterface instanceof Class<?> type) {
+            ConstructorArgumentValues arguments = new ConstructorArgumentValues();
+            arguments.addGenericArgumentValue(type);
+            beanDefinition.setConstructorArgumentValues(arguments);
+            beanDefinition.setTargetType(ResolvableType.forClassWithGenerics(beanDefinition.getBeanClass(), type));
+        }
+        if (!beanDefinition.getPropertyValues().contains("sqlSessionFactory")
+                && !beanDefinition.getPropertyValues().contains("sqlSessionTemplate")) {
+            beanDefinition.getPropertyValues().add("sqlSessionTemplate", new RuntimeBeanReference(SqlSessionTemplate.class));
+        }
+    }
+    
+    /**
+     * Listed in META-INF/spring/aot.factories
+     */
+    public static class MapperScannerExcludeFilter implements BeanRegistrationExcludeFilter {
+        
+        @Override
+        public boolean isExcludedFromAotProcessing(RegisteredBean registeredBean) {
+            return MapperScannerConfigurer.class.isAssignableFrom(registeredBean.getBeanClass());
+        }
+    }
+}
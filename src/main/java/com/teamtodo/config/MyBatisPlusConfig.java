@@ -1,7 +1,12 @@
 package com.teamtodo.config;
 
+import com.teamtodo.monitoring.QueryBudgetFilter;
+import com.teamtodo.monitoring.SqlMonitor;
+import com.teamtodo.monitoring.SqlMonitorInterceptor;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
@@ -12,4 +17,19 @@ import org.springframework.context.annotation.Configuration;
 @MapperScan("com.teamtodo.mapper")
 @ConditionalOnProperty(name = "mybatis-plus.enabled", havingValue = "true", matchIfMissing = true)
 public class MyBatisPlusConfig {
+    
+    /**
+     * Counts statements per HTTP request and logs slow ones, see {@link SqlMonitor}
+     */
+    @Bean
+    public SqlMonitorInterceptor sqlMonitorInterceptor(SqlMonitor sqlMonitor) {
+        return new SqlMonitorInterceptor(sqlMonitor);
+    }
+    
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(SqlMonitor sqlMonitor) {
+        FilterRegistrationBean<QueryBudgetFilter> registration = new FilterRegistrationBean<>(new QueryBudgetFilter(sqlMonitor));
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
 }
@@ -0,0 +1,87 @@
+package com.teamtodo.config;
+
+import com.teamtodo.datasource.ReadRoutingFilter;
+import com.teamtodo.datasource.ReadWriteRoutingDataSource;
+import com.teamtodo.datasource.ReplicaMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read/write splitting, switched on with teamtodo.read-replicas.enabled (READ_REPLICAS_ENABLED)
+ *
+ * Replaces the auto-configured DataSource with a routing one: spring.datasource stays the primary
+ * and takes all writes and non-read-only work, @Transactional(readOnly = true) service methods
+ * read from the replicas listed under teamtodo.read-replicas.replicas. MyBatis, JdbcTemplate and
+ * the transaction manager all use the routing DataSource. Each target has its own Hikari pool,
+ * published as hikaricp.* metrics by pool name ("primary", "replica-0", ...).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "teamtodo.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+    
+    @Bean
+    public ReplicaMonitor replicaMonitor(HikariDataSource primaryDataSource, DataSourceProperties primaryProperties,
+                                         ReadReplicaProperties properties, MeterRegistry registry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReadReplicaProperties.Replica> configured = properties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            ReadReplicaProperties.Replica replica = configured.get(i);
+            if (!StringUtils.hasText(replica.getUrl())) {
+                throw new IllegalArgumentException("teamtodo.read-replicas.replicas[" + i + "].url must be set");
+            }
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(primaryProperties.determineDriverClassName())
+                    .url(replica.getUrl())
+                    .username(replica.getUsername() != null ? replica.getUsername() : primaryProperties.determineUsername())
+                    .password(replica.getPassword() != null ? replica.getPassword() : primaryProperties.determinePassword())
+                    .build();
+            pool.setPoolName("replica-" + i);
+            pool.setMaximumPoolSize(properties.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            pool.setMetricRegistry(registry);
+            replicas.put(pool.getPoolName(), pool);
+        }
+        return new ReplicaMonitor(primaryDataSource, replicas, properties.getMaxLag(), registry);
+    }
+    
+    /**
+     * The DataSource everything else uses, connecting lazily so the routing sees whether the
+     * transaction is read-only
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaMonitor replicaMonitor, MeterRegistry registry) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource, replicaMonitor, registry));
+    }
+    
+    @Bean
+    public FilterRegistrationBean<ReadRoutingFilter> readRoutingFilter() {
+        FilterRegistrationBean<ReadRoutingFilter> registration = new FilterRegistrationBean<>(new ReadRoutingFilter());
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
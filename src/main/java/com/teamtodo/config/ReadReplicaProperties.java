@@ -0,0 +1,39 @@
+package com.teamtodo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for routing read-only service methods to MySQL read replicas
+ */
+@Data
+@ConfigurationProperties(prefix = "teamtodo.read-replicas")
+public class ReadReplicaProperties {
+    
+    private boolean enabled = false;
+    
+    private List<Replica> replicas = new ArrayList<>();
+    
+    private int maximumPoolSize = 10; // Per replica
+    
+    private Duration maxLag = Duration.ofSeconds(2); // Replicas further behind get no reads until they catch up
+    
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+    
+    // Reads of a project or user go to the primary this long after it changed, keep it above maxLag
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+    
+    @Data
+    public static class Replica {
+        
+        private String url;
+        
+        private String username; // Defaults to spring.datasource.username
+        
+        private String password; // Defaults to spring.datasource.password
+    }
+}
@@ -0,0 +1,18 @@
+package com.teamtodo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for sharing one database read between concurrent identical member list requests
+ */
+@Data
+@ConfigurationProperties(prefix = "teamtodo.request-coalescing")
+public class RequestCoalescingProperties {
+    
+    private boolean enabled = true;
+    
+    private Duration timeout = Duration.ofSeconds(2); // Followers wait this long, then run the read themselves
+}
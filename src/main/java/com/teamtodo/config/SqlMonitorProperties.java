@@ -0,0 +1,26 @@
+package com.teamtodo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the per-request SQL statement budget and the slow statement log
+ */
+@Data
+@ConfigurationProperties(prefix = "teamtodo.sql-monitor")
+public class SqlMonitorProperties {
+    
+    private boolean enabled = true;
+    
+    private int statementBudget = 10; // Statements one HTTP request may run before it is flagged
+    
+    private double sampleRate = 1.0; // Share of requests whose statements are counted, 0..1
+    
+    private Duration slowThreshold = Duration.ofMillis(200); // Statements at least this slow are logged
+    
+    private int slowLogSize = 100; // Most recent slow statements kept for the actuator endpoint
+    
+    private int violationLogSize = 50; // Most recent over-budget requests kept for the actuator endpoint
+}
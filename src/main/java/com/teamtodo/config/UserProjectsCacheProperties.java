@@ -0,0 +1,20 @@
+package com.teamtodo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the per-user cache of the first page of GET /users/{userId}/projects
+ */
+@Data
+@ConfigurationProperties(prefix = "teamtodo.user-projects-cache")
+public class UserProjectsCacheProperties {
+    
+    private boolean enabled = true;
+    
+    private long maximumRows = 200_000; // Projects cached over all users, bounds the heap used
+    
+    private Duration ttl = Duration.ofMinutes(5); // Backstop for changes made outside this service
+}
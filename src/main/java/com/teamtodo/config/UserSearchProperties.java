@@ -0,0 +1,28 @@
+package com.teamtodo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-memory user search index behind GET /users/search
+ */
+@Data
+@ConfigurationProperties(prefix = "teamtodo.user-search")
+public class UserSearchProperties {
+    
+    private boolean enabled = true;
+    
+    private int defaultLimit = 10;
+    
+    private int maxLimit = 50;
+    
+    private int loadBatchSize = 10_000; // Rows read per query while loading users
+    
+    private Duration refreshInterval = Duration.ofSeconds(30); // Incremental sync of changed users
+    
+    private Duration refreshOverlap = Duration.ofMinutes(1); // Re-read window for late commits
+    
+    private Duration rebuildInterval = Duration.ofHours(1); // Full reload, also drops deleted users
+}
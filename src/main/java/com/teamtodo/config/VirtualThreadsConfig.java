@@ -0,0 +1,44 @@
+package com.teamtodo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * Virtual thread mode, switched on with spring.threads.virtual.enabled (VIRTUAL_THREADS_ENABLED)
+ *
+ * Spring Boot then runs Tomcat request handling, the applicationTaskExecutor (used by @Async and
+ * by the background index loaders) and the scheduler on virtual threads. The switch is ignored on
+ * a Java 17 runtime, so the same build runs on both; this class only reports which mode is active.
+ */
+@Configuration
+public class VirtualThreadsConfig {
+    
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+    
+    private static final String ENABLED_PROPERTY = "spring.threads.virtual.enabled";
+    
+    private static final String TRACE_PINNED_PROPERTY = "jdk.tracePinnedThreads";
+    
+    private final Environment environment;
+    
+    public VirtualThreadsConfig(Environment environment) {
+        this.environment = environment;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        boolean requested = environment.getProperty(ENABLED_PROPERTY, Boolean.class, false);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Handling requests on virtual threads (pinning trace: {})",
+                    System.getProperty(TRACE_PINNED_PROPERTY, "off, start with -D" + TRACE_PINNED_PROPERTY + "=short"));
+        } else if (requested) {
+            log.warn("{} is set but Java {} has no virtual threads, using platform threads",
+                    ENABLED_PROPERTY, Runtime.version().feature());
+        }
+    }
+}
@@ -1,31 +1,81 @@
 package com.teamtodo.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teamtodo.admission.AdmissionControl;
+import com.teamtodo.admission.AdmissionControlled;
+import com.teamtodo.cache.MembershipKey;
+import com.teamtodo.config.MemberExportProperties;
 import com.teamtodo.dto.AddMemberRequest;
+import com.teamtodo.dto.BatchAddMembersResponse;
+import com.teamtodo.dto.MemberChanges;
+import com.teamtodo.dto.MemberColumns;
+import com.teamtodo.dto.MemberPage;
+import com.teamtodo.dto.MemberQuery;
 import com.teamtodo.dto.MemberResponse;
+import com.teamtodo.dto.MembershipCheckRequest;
 import com.teamtodo.entity.ProjectMember;
+import com.teamtodo.export.MemberExportFormat;
+import com.teamtodo.export.MemberExportWriter;
+import com.teamtodo.push.MemberEventBroadcaster;
 import com.teamtodo.service.ProjectMemberService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 /**
  * REST Controller for Project Member Management
  * Implements APIs for T005-02, T005-03, T005-04
+ * 
+ * Endpoints marked {@link AdmissionControlled} are rate limited per caller and shed with 503
+ * while too many member requests are running, see AdmissionControl.
  */
 @RestController
 @RequestMapping("/projects")
 @Validated
 public class ProjectMemberController {
     
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
+    private static final String EXPORT_INTERCEPTOR = ProjectMemberController.class.getName() + ".EXPORT";
+    
     @Autowired
     private ProjectMemberService projectMemberService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MemberEventBroadcaster memberEventBroadcaster;
+    
+    @Autowired
+    private MemberExportProperties memberExportProperties;
+    
+    @Autowired
+    private AdmissionControl admissionControl;
+    
     /**
      * T005-02: Add a member to a project
      * AC1: Project admin can search and invite users
@@ -34,6 +84,7 @@ public class ProjectMemberController {
      * @return ProjectMember entity
      */
     @PostMapping("/members")
+    @AdmissionControlled("add")
     public ResponseEntity<?> addMember(@Valid @RequestBody AddMemberRequest request) {
         try {
             ProjectMember member = projectMemberService.addMember(request);
@@ -45,18 +96,233 @@ public class ProjectMemberController {
         }
     }
     
+    /**
+     * T005-02: Add many members to a project in one request
+     * 
+     * @param projectId Project ID, authoritative for every item
+     * @param requests Members to add, projectId may be omitted per item
+     * @return Per-item results (added / duplicate / unknown user / invalid)
+     */
+    @PostMapping("/{projectId}/members/batch")
+    @AdmissionControlled("add")
+    public ResponseEntity<?> addMembers(
+            @PathVariable Long projectId,
+            @RequestBody List<AddMemberRequest> requests) {
+        try {
+            BatchAddMembersResponse response = projectMemberService.addMembers(projectId, requests);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
     /**
      * T005-03: Get list of project members
      * AC2: Invited users can see new projects
      * AC3: Member list shows username, role, join time
      * 
+     * Without any paging parameter the full list is returned. When role, sort, cursor or limit
+     * is given, one keyset page is returned and the token for the following page is sent in
+     * the X-Next-Cursor header (absent on the last page).
+     * 
+     * The ETag is the project's member list version. A request whose If-None-Match still matches
+     * it is answered with 304 before any member is read or serialized. Concurrent requests for
+     * the same version and parameters share one database query.
+     * 
      * @param projectId Project ID
+     * @param role Optional role filter
+     * @param sort Optional join time order, "asc" (default) or "desc"
+     * @param cursor Optional token from a previous X-Next-Cursor header
+     * @param limit Optional page size
      * @return List of MemberResponse
      */
     @GetMapping("/{projectId}/members")
-    public ResponseEntity<List<MemberResponse>> getProjectMembers(@PathVariable Long projectId) {
-        List<MemberResponse> members = projectMemberService.getProjectMembers(projectId);
-        return ResponseEntity.ok(members);
+    @AdmissionControlled("list")
+    public ResponseEntity<?> getProjectMembers(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        return memberList(projectId, role, sort, cursor, limit, webRequest, MemberListForm.ROWS);
+    }
+    
+    /**
+     * T005-03: Get list of project members in columnar form, for clients sending
+     * Accept: application/vnd.teamtodo.member-columns+json
+     * Same parameters, paging header and ETag handling as the row form, with one array per field
+     * instead of one object per member, which is much smaller and cheaper to serialize for large projects.
+     * 
+     * @return MemberColumns
+     */
+    @GetMapping(value = "/{projectId}/members", produces = MemberColumns.MEDIA_TYPE_VALUE)
+    @AdmissionControlled("list")
+    public ResponseEntity<?> getProjectMemberColumns(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        return memberList(projectId, role, sort, cursor, limit, webRequest, MemberListForm.COLUMNS);
+    }
+    
+    /**
+     * T005-03: Get list of project members in columnar form encoded as Smile, for clients sending
+     * Accept: application/vnd.teamtodo.member-columns+smile
+     * Same layout as the columnar JSON form in binary JSON, smaller again and cheaper to parse.
+     * 
+     * @return MemberColumns
+     */
+    @GetMapping(value = "/{projectId}/members", produces = MemberColumns.SMILE_MEDIA_TYPE_VALUE)
+    @AdmissionControlled("list")
+    public ResponseEntity<?> getProjectMemberColumnsSmile(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        return memberList(projectId, role, sort, cursor, limit, webRequest, MemberListForm.COLUMNS_SMILE);
+    }
+    
+    /**
+     * T005-03: Delta sync of a project's member list
+     * Returns the adds and removes after the given version, or a full snapshot when no version
+     * is given or the change log no longer reaches back to it. Either way the answer carries the
+     * version to send next time.
+     * 
+     * @param projectId Project ID
+     * @param since Optional member list version the client has, from an earlier answer
+     * @return MemberChanges delta or snapshot
+     */
+    @GetMapping("/{projectId}/members/changes")
+    @AdmissionControlled("list")
+    public ResponseEntity<?> getMemberChanges(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) Long since) {
+        try {
+            MemberChanges changes = projectMemberService.getMemberChanges(projectId, since);
+            return ResponseEntity.ok(changes);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * T005-03: Server-Sent Events stream announcing changes to a project's member list
+     * The stream opens with a "version" event carrying the current member list version and then
+     * sends a "members" event with the new version after every committed add or remove. Clients
+     * whose copy is older than an announced version catch up with GET /members/changes.
+     * 
+     * @param projectId Project ID
+     * @return text/event-stream, 503 when this instance has no room for more streams
+     */
+    @GetMapping("/{projectId}/members/events")
+    public ResponseEntity<ResponseBodyEmitter> streamMemberEvents(@PathVariable Long projectId) throws IOException {
+        if (!memberEventBroadcaster.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(errorBody("Member events are disabled"));
+        }
+        Long version = projectMemberService.getMemberListVersion(projectId);
+        if (version == null) {
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(errorBody("Project not found with id: " + projectId));
+        }
+        try {
+            SseEmitter emitter = memberEventBroadcaster.subscribe(projectId, version);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                    .header("X-Accel-Buffering", "no") // Stop nginx from buffering the stream
+                    .body(emitter);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(errorBody(e.getMessage()));
+        }
+    }
+    
+    /**
+     * T005-03: Export the full member list of a project, e.g. for compliance
+     * Rows are written to the response chunk by chunk as they are read from the database, so
+     * memory use does not depend on the project size. A project without members yields an empty
+     * export (CSV: header only). Only this request gets the long teamtodo.member-export.timeout.
+     * Each export holds one of the teamtodo.admission-control.max-concurrent-exports permits until
+     * the response is written, further exports are answered 503.
+     * 
+     * @param projectId Project ID
+     * @param format Optional "ndjson" (default) or "csv"
+     * @return Streamed NDJSON or CSV attachment
+     */
+    @GetMapping("/{projectId}/members/export")
+    public ResponseEntity<StreamingResponseBody> exportProjectMembers(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String format,
+            WebRequest webRequest) {
+        MemberExportFormat exportFormat;
+        try {
+            exportFormat = MemberExportFormat.parse(format);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, error));
+        }
+        
+        boolean admitted = admissionControl.isEnabled();
+        if (admitted && !admissionControl.admitExport()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Too many exports running, retry later");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(out -> objectMapper.writeValue(out, error));
+        }
+        
+        long timeout = memberExportProperties.getTimeout().toMillis();
+        WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor(EXPORT_INTERCEPTOR,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                        // Runs before the async request starts, while its timeout can still be changed
+                        ((AsyncWebRequest) request).setTimeout(timeout);
+                    }
+                    
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                        // Runs once the async request ends: written, failed or timed out
+                        if (admitted) {
+                            admissionControl.releaseExport();
+                        }
+                    }
+                });
+        StreamingResponseBody body = out -> {
+            try (MemberExportWriter writer = exportFormat.open(out, objectMapper)) {
+                projectMemberService.exportProjectMembers(projectId, writer);
+            } catch (RuntimeException e) {
+                // A client that went away surfaces wrapped by the row handler and MyBatis
+                if (NestedExceptionUtils.getMostSpecificCause(e) instanceof IOException ioException) {
+                    throw ioException;
+                }
+                throw e;
+            }
+        };
+        ContentDisposition attachment = ContentDisposition.attachment()
+                .filename("project-" + projectId + "-members." + exportFormat.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment.toString())
+                .body(body);
     }
     
     /**
@@ -69,6 +335,7 @@ public class ProjectMemberController {
      * @return Success message
      */
     @DeleteMapping("/{projectId}/members/{memberId}")
+    @AdmissionControlled("remove")
     public ResponseEntity<?> removeMember(
             @PathVariable Long projectId,
             @PathVariable Long memberId,
@@ -93,6 +360,7 @@ public class ProjectMemberController {
      * @return boolean indicating membership
      */
     @GetMapping("/{projectId}/members/check")
+    @AdmissionControlled("check")
     public ResponseEntity<Map<String, Boolean>> checkMembership(
             @PathVariable Long projectId,
             @RequestParam Long userId) {
@@ -101,4 +369,125 @@ public class ProjectMemberController {
         response.put("isMember", isMember);
         return ResponseEntity.ok(response);
     }
+    
+    /**
+     * AC5: Check many memberships in one call (for authorization fan-out)
+     * 
+     * @param request (projectId, userId) pairs
+     * @return Map of "projectId:userId" to membership
+     */
+    @PostMapping("/members/check")
+    @AdmissionControlled("check")
+    public ResponseEntity<Map<String, Map<String, Boolean>>> checkMemberships(
+            @Valid @RequestBody MembershipCheckRequest request) {
+        List<MembershipKey> keys = request.getPairs().stream()
+                .map(pair -> new MembershipKey(pair.getProjectId(), pair.getUserId()))
+                .toList();
+        Map<MembershipKey, Boolean> memberships = projectMemberService.checkMemberships(keys);
+        
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        for (MembershipKey key : keys) {
+            results.put(key.projectId() + ":" + key.userId(), memberships.getOrDefault(key, false));
+        }
+        Map<String, Map<String, Boolean>> response = new HashMap<>();
+        response.put("results", results);
+        return ResponseEntity.ok(response);
+    }
+    
+    private ResponseEntity<?> memberList(Long projectId, String role, String sort, String cursor, Integer limit,
+            WebRequest webRequest, MemberListForm form) {
+        // Read before the members, so a change committed in between can only make the ETag older
+        Long version = projectMemberService.getMemberListVersion(projectId);
+        String eTag = version != null ? memberListETag(version, form) : null;
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null; // 304 already prepared
+        }
+        
+        if (role == null && sort == null && cursor == null && limit == null) {
+            List<MemberResponse> members = projectMemberService.getProjectMembers(projectId, version);
+            return memberListResponse(eTag).body(form.columnar ? new MemberColumns(members) : members);
+        }
+        
+        try {
+            MemberQuery query = new MemberQuery();
+            query.setRole(role);
+            query.setDescending(parseSortDescending(sort));
+            query.setCursor(cursor);
+            query.setLimit(limit);
+            
+            MemberPage page = projectMemberService.getProjectMembersPage(projectId, query, version);
+            ResponseEntity.BodyBuilder builder = memberListResponse(eTag);
+            if (page.getNextCursor() != null) {
+                builder.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return builder.body(form.columnar ? new MemberColumns(page.getItems()) : page.getItems());
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            // Explicit, the columnar handlers would otherwise only be allowed to produce their own type
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(error);
+        }
+    }
+    
+    /**
+     * Strong ETag of a member list at the given version, distinct per representation
+     */
+    static String memberListETag(long version, MemberListForm form) {
+        return "\"members-v" + version + form.eTagSuffix + "\"";
+    }
+    
+    /**
+     * The usual {"error": message} body for endpoints whose success response is streamed
+     */
+    private static ResponseBodyEmitter errorBody(String message) throws IOException {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        ResponseBodyEmitter body = new ResponseBodyEmitter();
+        body.send(error, MediaType.APPLICATION_JSON);
+        body.complete();
+        return body;
+    }
+    
+    /**
+     * 200 response for a member list, revalidated by browsers on every use and never shared
+     * Varies by Accept, as the same URL serves the row and the columnar forms
+     */
+    private static ResponseEntity.BodyBuilder memberListResponse(String eTag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT);
+        if (eTag != null) {
+            builder.eTag(eTag);
+        }
+        return builder;
+    }
+    
+    private static boolean parseSortDescending(String sort) {
+        if (sort == null || "asc".equalsIgnoreCase(sort)) {
+            return false;
+        }
+        if ("desc".equalsIgnoreCase(sort)) {
+            return true;
+        }
+        throw new IllegalArgumentException("Sort must be either asc or desc");
+    }
+    
+    /**
+     * Representation of a member list, each with its own ETag
+     */
+    private enum MemberListForm {
+        
+        ROWS(false, ""),
+        COLUMNS(true, "-columns"),
+        COLUMNS_SMILE(true, "-columns-smile");
+        
+        private final boolean columnar;
+        
+        private final String eTagSuffix;
+        
+        MemberListForm(boolean columnar, String eTagSuffix) {
+            this.columnar = columnar;
+            this.eTagSuffix = eTagSuffix;
+        }
+    }
 }
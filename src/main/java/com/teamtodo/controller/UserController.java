@@ -0,0 +1,80 @@
+package com.teamtodo.controller;
+
+import com.teamtodo.admission.AdmissionControlled;
+import com.teamtodo.dto.UserProjectPage;
+import com.teamtodo.dto.UserSearchResult;
+import com.teamtodo.service.ProjectMemberService;
+import com.teamtodo.service.UserSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for user lookups
+ * Implements the user search used by T005-06 and the project list of AC2
+ */
+@RestController
+@RequestMapping("/users")
+public class UserController {
+    
+    @Autowired
+    private UserSearchService userSearchService;
+    
+    @Autowired
+    private ProjectMemberService projectMemberService;
+    
+    /**
+     * AC1: Search users to invite by username or email prefix
+     * 
+     * @param q Search text
+     * @param limit Optional maximum number of results
+     * @return Best matching users, best first
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchUsers(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            List<UserSearchResult> users = userSearchService.search(q, limit);
+            return ResponseEntity.ok(users);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * AC2: Invited users can see new projects
+     * Lists the projects the user is a member of, newest membership first. The token for the
+     * following page is sent in the X-Next-Cursor header (absent on the last page).
+     * 
+     * @param userId User ID
+     * @param cursor Optional token from a previous X-Next-Cursor header
+     * @param limit Optional page size
+     * @return List of UserProjectResponse
+     */
+    @GetMapping("/{userId}/projects")
+    @AdmissionControlled("list")
+    public ResponseEntity<?> getUserProjects(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            UserProjectPage page = projectMemberService.getUserProjects(userId, cursor, limit);
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                builder.header(ProjectMemberController.NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return builder.body(page.getItems());
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+}
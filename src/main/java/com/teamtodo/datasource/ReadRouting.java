@@ -0,0 +1,66 @@
+package com.teamtodo.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routing state of the current thread for {@link ReadWriteRoutingDataSource}
+ *
+ * Within an HTTP request (opened by {@link ReadRoutingFilter}) reads stick to the first target
+ * they were sent to, and to the primary once the request wrote or read from it, so one request
+ * never reads older data after newer data, e.g. a member list older than its ETag version.
+ * A read-only transaction can also be pinned to the primary, see {@link ReadYourWritesTracker}.
+ */
+public final class ReadRouting {
+    
+    private static final ThreadLocal<String[]> requestTarget = new ThreadLocal<>();
+    
+    private static final ThreadLocal<Boolean> pinned = new ThreadLocal<>();
+    
+    private ReadRouting() {
+    }
+    
+    /**
+     * Send the rest of the current transaction to the primary, no-op outside transactions
+     * Must be called before its first statement, the connection is chosen then.
+     */
+    public static void pinToPrimary() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || pinned.get() != null) {
+            return;
+        }
+        pinned.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                pinned.remove();
+            }
+        });
+    }
+    
+    static boolean isPinnedToPrimary() {
+        return pinned.get() != null;
+    }
+    
+    static void beginRequest() {
+        requestTarget.set(new String[1]);
+    }
+    
+    static void endRequest() {
+        requestTarget.remove();
+    }
+    
+    /**
+     * Target earlier reads of the current request went to, null when none or outside requests
+     */
+    static String requestTarget() {
+        String[] target = requestTarget.get();
+        return target != null ? target[0] : null;
+    }
+    
+    static void setRequestTarget(String target) {
+        String[] current = requestTarget.get();
+        if (current != null) {
+            current[0] = target;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.teamtodo.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Scopes the sticky read target of {@link ReadRouting} to one HTTP request
+ */
+public class ReadRoutingFilter extends OncePerRequestFilter {
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ReadRouting.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadRouting.endRequest();
+        }
+    }
+}
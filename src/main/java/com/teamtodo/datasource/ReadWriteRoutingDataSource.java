@@ -0,0 +1,65 @@
+package com.teamtodo.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends connections of read-only transactions to a healthy read replica, everything else to the primary
+ *
+ * Wrap it in a LazyConnectionDataSourceProxy: the target is chosen when a transaction's first
+ * statement needs a connection, after the transaction has been marked read-only. Reads fall back
+ * to the primary when no replica is within the lag limit of the {@link ReplicaMonitor}, when the
+ * transaction is pinned to the primary, or when the current request already used the primary.
+ * Connections handed out are counted per target as teamtodo.datasource.connections.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    
+    public static final String PRIMARY = "primary";
+    
+    private final ReplicaMonitor replicas;
+    
+    private final Map<String, Counter> connections = new HashMap<>();
+    
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaMonitor replicas, MeterRegistry registry) {
+        this.replicas = replicas;
+        Map<Object, Object> targets = new HashMap<>(replicas.getDataSources());
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        for (Object target : targets.keySet()) {
+            connections.put((String) target, Counter.builder("teamtodo.datasource.connections")
+                    .description("Connections handed out by the routing DataSource")
+                    .tag("target", (String) target)
+                    .register(registry));
+        }
+        afterPropertiesSet();
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String target = chooseTarget();
+        ReadRouting.setRequestTarget(target);
+        connections.get(target).increment();
+        return target;
+    }
+    
+    private String chooseTarget() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReadRouting.isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+        String earlier = ReadRouting.requestTarget();
+        if (earlier != null) {
+            // A replica that fell behind is left for the primary, which is never older
+            return earlier.equals(PRIMARY) || replicas.isHealthy(earlier) ? earlier : PRIMARY;
+        }
+        String replica = replicas.nextHealthy();
+        return replica != null ? replica : PRIMARY;
+    }
+}
@@ -0,0 +1,69 @@
+package com.teamtodo.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.teamtodo.config.ReadReplicaProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps reads of recently changed projects and users on the primary while replicas catch up
+ *
+ * The member service records every project and user whose memberships it changes; for the
+ * read-your-writes window afterwards, read-only transactions reading them are pinned to the
+ * primary. That covers the writer reading back its own change and the caches reloading after
+ * invalidation, which would otherwise keep a replica's stale answer for their whole TTL.
+ * Changes are only known to the instance that made them. Does nothing when replicas are off.
+ */
+@Component
+public class ReadYourWritesTracker {
+    
+    private static final long MAXIMUM_TRACKED = 100_000;
+    
+    private final Cache<Long, Boolean> projects; // Null when replica routing is disabled
+    
+    private final Cache<Long, Boolean> users;
+    
+    public ReadYourWritesTracker(ReadReplicaProperties properties) {
+        if (!properties.isEnabled()) {
+            this.projects = null;
+            this.users = null;
+            return;
+        }
+        this.projects = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_TRACKED)
+                .expireAfterWrite(properties.getReadYourWritesWindow())
+                .build();
+        this.users = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_TRACKED)
+                .expireAfterWrite(properties.getReadYourWritesWindow())
+                .build();
+    }
+    
+    /**
+     * Record that a user's membership of a project changed, restarting both windows
+     */
+    public void recordWrite(Long projectId, Long userId) {
+        if (projects != null) {
+            projects.put(projectId, Boolean.TRUE);
+            users.put(userId, Boolean.TRUE);
+        }
+    }
+    
+    /**
+     * Pin the current read-only transaction to the primary if the project changed recently
+     */
+    public void readingProject(Long projectId) {
+        if (projects != null && projects.getIfPresent(projectId) != null) {
+            ReadRouting.pinToPrimary();
+        }
+    }
+    
+    /**
+     * Pin the current read-only transaction to the primary if the user's memberships changed recently
+     */
+    public void readingUser(Long userId) {
+        if (users != null && users.getIfPresent(userId) != null) {
+            ReadRouting.pinToPrimary();
+        }
+    }
+}
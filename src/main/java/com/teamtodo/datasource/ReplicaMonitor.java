@@ -0,0 +1,171 @@
+package com.teamtodo.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the replication lag of the read replicas and picks the replica for the next read
+ *
+ * Each check writes the current time to replication_heartbeat on the primary and reads the row
+ * back from every replica; the age of the heartbeat a replica holds is its lag, so a replica
+ * reads at most one check interval behind its real lag. Replicas more than maxLag behind, or
+ * that cannot be queried, get no reads until a later check finds them caught up. Replicas
+ * start out unchecked, so reads go to the primary until the first check.
+ * Lag and health are published per replica as teamtodo.datasource.replica.lag and .healthy.
+ * The replica pools are owned by the monitor and closed with it.
+ */
+public class ReplicaMonitor implements AutoCloseable {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReplicaMonitor.class);
+    
+    static final String WRITE_HEARTBEAT = "INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?) "
+            + "ON DUPLICATE KEY UPDATE beat_at = VALUES(beat_at)";
+    
+    static final String READ_HEARTBEAT = "SELECT beat_at FROM replication_heartbeat WHERE id = 1";
+    
+    private final JdbcTemplate primary;
+    
+    private final Map<String, DataSource> dataSources;
+    
+    private final List<Replica> replicas = new ArrayList<>();
+    
+    private final Duration maxLag;
+    
+    private final AtomicInteger next = new AtomicInteger();
+    
+    private volatile boolean primaryFailing;
+    
+    /**
+     * @param replicas replica pools by target name, in order
+     */
+    public ReplicaMonitor(DataSource primary, Map<String, DataSource> replicas, Duration maxLag, MeterRegistry registry) {
+        this.primary = new JdbcTemplate(primary);
+        this.dataSources = Collections.unmodifiableMap(new LinkedHashMap<>(replicas));
+        this.maxLag = maxLag;
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, new JdbcTemplate(dataSource));
+            this.replicas.add(replica);
+            TimeGauge.builder("teamtodo.datasource.replica.lag", replica, TimeUnit.MILLISECONDS,
+                            r -> r.lagMillis < 0 ? Double.NaN : r.lagMillis)
+                    .description("Age of the newest replication heartbeat on the replica")
+                    .tag("target", name)
+                    .register(registry);
+            Gauge.builder("teamtodo.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("Whether the replica is within the lag limit and receives reads")
+                    .tag("target", name)
+                    .register(registry);
+        });
+    }
+    
+    public Map<String, DataSource> getDataSources() {
+        return dataSources;
+    }
+    
+    /**
+     * A healthy replica, taking turns between them, or null when none is healthy
+     */
+    public String nextHealthy() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.name;
+            }
+        }
+        return null;
+    }
+    
+    public boolean isHealthy(String name) {
+        for (Replica replica : replicas) {
+            if (replica.name.equals(name)) {
+                return replica.healthy;
+            }
+        }
+        return false;
+    }
+    
+    @Scheduled(fixedDelayString = "${teamtodo.read-replicas.lag-check-interval:PT1S}")
+    public void checkLag() {
+        LocalDateTime beat = LocalDateTime.now();
+        try {
+            primary.update(WRITE_HEARTBEAT, Timestamp.valueOf(beat));
+            primaryFailing = false;
+        } catch (DataAccessException e) {
+            // Without a fresh heartbeat every replica would look like it is falling behind
+            if (!primaryFailing) {
+                log.warn("Cannot write the replication heartbeat, replica states are kept: {}", e.getMessage());
+                primaryFailing = true;
+            }
+            return;
+        }
+        
+        for (Replica replica : replicas) {
+            long lagMillis;
+            try {
+                Timestamp seen = replica.jdbc.query(READ_HEARTBEAT, rs -> rs.next() ? rs.getTimestamp(1) : null);
+                lagMillis = seen == null ? -1 : Math.max(0, Duration.between(seen.toLocalDateTime(), LocalDateTime.now()).toMillis());
+            } catch (DataAccessException e) {
+                log.debug("Cannot read the replication heartbeat of {}: {}", replica.name, e.getMessage());
+                lagMillis = -1;
+            }
+            boolean healthy = lagMillis >= 0 && lagMillis <= maxLag.toMillis();
+            if (!replica.checked || healthy != replica.healthy) {
+                if (healthy) {
+                    log.info("Read replica {} is within the lag limit ({} ms), sending it reads", replica.name, lagMillis);
+                } else {
+                    log.warn("Read replica {} is {} behind, sending its reads to the primary", replica.name,
+                            lagMillis < 0 ? "unreachable or not replicating" : lagMillis + " ms");
+                }
+            }
+            replica.lagMillis = lagMillis;
+            replica.healthy = healthy;
+            replica.checked = true;
+        }
+    }
+    
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : dataSources.values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+    
+    private static class Replica {
+        
+        private final String name;
+        
+        private final JdbcTemplate jdbc;
+        
+        private volatile long lagMillis = -1; // Unknown
+        
+        private volatile boolean healthy;
+        
+        private volatile boolean checked;
+        
+        Replica(String name, JdbcTemplate jdbc) {
+            this.name = name;
+            this.jdbc = jdbc;
+        }
+    }
+}
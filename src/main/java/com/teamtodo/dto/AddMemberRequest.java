@@ -3,6 +3,7 @@ package com.teamtodo.dto;
 import lombok.Data;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 /**
  * DTO for adding a member to a project
@@ -16,5 +17,6 @@ public class AddMemberRequest {
     @NotNull(message = "User ID is required")
     private Long userId;
     
+    @Size(min = 1, max = 20, message = "Role must be 1 to 20 characters")
     private String role = "MEMBER"; // Default role
 }
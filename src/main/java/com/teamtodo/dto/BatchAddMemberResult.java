@@ -0,0 +1,25 @@
+package com.teamtodo.dto;
+
+import lombok.Data;
+
+/**
+ * Outcome of one item of a bulk add-members request
+ */
+@Data
+public class BatchAddMemberResult {
+    
+    public enum Status {
+        ADDED,
+        DUPLICATE,
+        USER_NOT_FOUND,
+        INVALID
+    }
+    
+    private Long userId;
+    
+    private Status status;
+    
+    private Long memberId; // Only set for ADDED
+    
+    private String message; // Only set for INVALID
+}
@@ -0,0 +1,24 @@
+package com.teamtodo.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO for bulk add-members response, one result per request item in request order
+ */
+@Data
+public class BatchAddMembersResponse {
+    
+    private Long projectId;
+    
+    private int added;
+    
+    private int duplicates;
+    
+    private int unknownUsers;
+    
+    private int invalid;
+    
+    private List<BatchAddMemberResult> results;
+}
@@ -0,0 +1,29 @@
+package com.teamtodo.dto;
+
+import com.teamtodo.entity.ProjectMemberChange;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one logged membership change, with the user's current details
+ */
+@Data
+public class MemberChange {
+    
+    private Long version;
+    
+    private ProjectMemberChange.Type type;
+    
+    private Long memberId;
+    
+    private Long userId;
+    
+    private String username;
+    
+    private String email;
+    
+    private String role;
+    
+    private LocalDateTime changedAt;
+}
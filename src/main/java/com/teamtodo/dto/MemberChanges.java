@@ -0,0 +1,41 @@
+package com.teamtodo.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Answer to a delta sync of a project's member list
+ * Either the changes after the client's version, or a full snapshot when the log cannot bridge
+ * the gap. Both bring the client to the returned version.
+ */
+@Data
+public class MemberChanges {
+    
+    private Long projectId;
+    
+    private Long version; // Member list version the client has after applying this answer
+    
+    private boolean snapshot; // True when members replaces the client's list instead of changes
+    
+    private List<MemberChange> changes; // Oldest first, null for a snapshot
+    
+    private List<MemberResponse> members; // Null for a delta
+    
+    public static MemberChanges delta(Long projectId, Long version, List<MemberChange> changes) {
+        MemberChanges answer = new MemberChanges();
+        answer.setProjectId(projectId);
+        answer.setVersion(version);
+        answer.setChanges(changes);
+        return answer;
+    }
+    
+    public static MemberChanges snapshot(Long projectId, Long version, List<MemberResponse> members) {
+        MemberChanges answer = new MemberChanges();
+        answer.setProjectId(projectId);
+        answer.setVersion(version);
+        answer.setSnapshot(true);
+        answer.setMembers(members);
+        return answer;
+    }
+}
@@ -0,0 +1,149 @@
+package com.teamtodo.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Member list in columnar form, one array per field instead of one object per member
+ *
+ * {"size":2,"id":[1,2],"userId":[1,7],"username":["owner","bob"],"email":[...],"role":["OWNER","MEMBER"],
+ * "joinedAt":["2024-01-01T10:00:00","2024-01-02T09:30:00"]}
+ *
+ * Field names are written once per list instead of once per member. The serializer writes the
+ * values straight to the generator, and formats joinedAt into a reused buffer, so no intermediate
+ * objects or strings are created per member. It only uses the generator API, so the same layout
+ * is also served as Smile (binary JSON) through a SmileFactory generator.
+ */
+@JsonSerialize(using = MemberColumns.Serializer.class)
+public class MemberColumns {
+    
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.teamtodo.member-columns+json";
+    
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+    
+    public static final String SMILE_MEDIA_TYPE_VALUE = "application/vnd.teamtodo.member-columns+smile";
+    
+    public static final MediaType SMILE_MEDIA_TYPE = MediaType.parseMediaType(SMILE_MEDIA_TYPE_VALUE);
+    
+    private final List<MemberResponse> members;
+    
+    public MemberColumns(List<MemberResponse> members) {
+        this.members = members;
+    }
+    
+    public List<MemberResponse> getMembers() {
+        return members;
+    }
+    
+    static class Serializer extends StdSerializer<MemberColumns> {
+        
+        Serializer() {
+            super(MemberColumns.class);
+        }
+        
+        @Override
+        public void serialize(MemberColumns value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            List<MemberResponse> members = value.members;
+            generator.writeStartObject(value);
+            generator.writeNumberField("size", members.size());
+            
+            generator.writeArrayFieldStart("id");
+            for (MemberResponse member : members) {
+                writeNumber(generator, member.getId());
+            }
+            generator.writeEndArray();
+            
+            generator.writeArrayFieldStart("userId");
+            for (MemberResponse member : members) {
+                writeNumber(generator, member.getUserId());
+            }
+            generator.writeEndArray();
+            
+            generator.writeArrayFieldStart("username");
+            for (MemberResponse member : members) {
+                generator.writeString(member.getUsername());
+            }
+            generator.writeEndArray();
+            
+            generator.writeArrayFieldStart("email");
+            for (MemberResponse member : members) {
+                generator.writeString(member.getEmail());
+            }
+            generator.writeEndArray();
+            
+            generator.writeArrayFieldStart("role");
+            for (MemberResponse member : members) {
+                generator.writeString(member.getRole());
+            }
+            generator.writeEndArray();
+            
+            char[] buffer = new char[29]; // yyyy-MM-ddTHH:mm:ss.nnnnnnnnn
+            generator.writeArrayFieldStart("joinedAt");
+            for (MemberResponse member : members) {
+                writeDateTime(generator, member.getJoinedAt(), buffer);
+            }
+            generator.writeEndArray();
+            
+            generator.writeEndObject();
+        }
+        
+        private static void writeNumber(JsonGenerator generator, Long number) throws IOException {
+            if (number == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(number.longValue());
+            }
+        }
+        
+        /**
+         * Same text as the ISO_LOCAL_DATE_TIME format Jackson uses for the row form
+         */
+        private static void writeDateTime(JsonGenerator generator, LocalDateTime dateTime, char[] buffer) throws IOException {
+            if (dateTime == null) {
+                generator.writeNull();
+                return;
+            }
+            if (dateTime.getYear() < 0 || dateTime.getYear() > 9999) {
+                generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime));
+                return;
+            }
+            digits(buffer, 0, dateTime.getYear(), 4);
+            buffer[4] = '-';
+            digits(buffer, 5, dateTime.getMonthValue(), 2);
+            buffer[7] = '-';
+            digits(buffer, 8, dateTime.getDayOfMonth(), 2);
+            buffer[10] = 'T';
+            digits(buffer, 11, dateTime.getHour(), 2);
+            buffer[13] = ':';
+            digits(buffer, 14, dateTime.getMinute(), 2);
+            buffer[16] = ':';
+            digits(buffer, 17, dateTime.getSecond(), 2);
+            int length = 19;
+            int nanos = dateTime.getNano();
+            if (nanos != 0) {
+                buffer[19] = '.';
+                digits(buffer, 20, nanos, 9);
+                length = 29;
+                while (buffer[length - 1] == '0') {
+                    length--; // Fraction without trailing zeros
+                }
+            }
+            generator.writeString(buffer, 0, length);
+        }
+        
+        private static void digits(char[] buffer, int offset, int value, int width) {
+            for (int i = offset + width - 1; i >= offset; i--) {
+                buffer[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+        }
+    }
+}
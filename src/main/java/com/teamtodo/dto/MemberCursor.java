@@ -0,0 +1,51 @@
+package com.teamtodo.dto;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position inside a project member listing
+ * Points at the last row of a page by (joinedAt, id) and is handed to clients as an opaque token
+ */
+@Value
+public class MemberCursor {
+    
+    private static final String VERSION = "v1";
+    
+    LocalDateTime joinedAt;
+    
+    Long id;
+    
+    public static MemberCursor of(MemberResponse member) {
+        return new MemberCursor(member.getJoinedAt(), member.getId());
+    }
+    
+    /**
+     * Encode this position as a URL-safe token
+     */
+    public String encode() {
+        String raw = VERSION + "|" + joinedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decode a token produced by {@link #encode()}
+     */
+    public static MemberCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new MemberCursor(LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException as well
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
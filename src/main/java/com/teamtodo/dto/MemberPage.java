@@ -0,0 +1,20 @@
+package com.teamtodo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a project member listing
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberPage {
+    
+    private List<MemberResponse> items;
+    
+    private String nextCursor; // Null on the last page
+}
@@ -0,0 +1,18 @@
+package com.teamtodo.dto;
+
+import lombok.Data;
+
+/**
+ * Paging, filtering and sorting options for a project member listing
+ */
+@Data
+public class MemberQuery {
+    
+    private String role; // Only members with this role, all roles when null
+    
+    private boolean descending; // Sort by join time, newest first when true
+    
+    private String cursor; // Opaque token returned as next cursor of the previous page
+    
+    private Integer limit; // Page size, service default when null
+}
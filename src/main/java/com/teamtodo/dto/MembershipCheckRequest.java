@@ -0,0 +1,30 @@
+package com.teamtodo.dto;
+
+import lombok.Data;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * DTO for checking many (project, user) memberships at once
+ */
+@Data
+public class MembershipCheckRequest {
+    
+    @NotEmpty(message = "At least one pair is required")
+    @Size(max = 1000, message = "At most 1000 pairs can be checked at once")
+    private List<@Valid Pair> pairs;
+    
+    @Data
+    public static class Pair {
+        
+        @NotNull(message = "Project ID is required")
+        private Long projectId;
+        
+        @NotNull(message = "User ID is required")
+        private Long userId;
+    }
+}
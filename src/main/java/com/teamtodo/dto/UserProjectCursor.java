@@ -0,0 +1,47 @@
+package com.teamtodo.dto;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position inside a user's project list
+ * Points at the membership of the last row of a page and is handed to clients as an opaque token
+ */
+@Value
+public class UserProjectCursor {
+    
+    private static final String VERSION = "v1";
+    
+    Long memberId;
+    
+    public static UserProjectCursor of(UserProjectResponse project) {
+        return new UserProjectCursor(project.getMemberId());
+    }
+    
+    /**
+     * Encode this position as a URL-safe token
+     */
+    public String encode() {
+        String raw = VERSION + "|" + memberId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decode a token produced by {@link #encode()}
+     */
+    public static UserProjectCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new UserProjectCursor(Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException as well
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.teamtodo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a user's project list
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProjectPage {
+    
+    private List<UserProjectResponse> items;
+    
+    private String nextCursor; // Null on the last page
+}
@@ -0,0 +1,24 @@
+package com.teamtodo.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one project of a user's project list, with the user's membership in it
+ */
+@Data
+public class UserProjectResponse {
+    
+    private Long memberId;
+    
+    private Long projectId;
+    
+    private String name;
+    
+    private Long ownerId;
+    
+    private String role;
+    
+    private LocalDateTime joinedAt;
+}
@@ -0,0 +1,20 @@
+package com.teamtodo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one user search hit
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchResult {
+    
+    private Long id;
+    
+    private String username;
+    
+    private String email;
+}
@@ -1,6 +1,8 @@
 package com.teamtodo.entity;
 
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
 import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.annotation.TableName;
 import lombok.Data;
@@ -26,4 +28,8 @@ public class Project {
     private LocalDateTime createdAt;
     
     private LocalDateTime updatedAt;
+    
+    // Only ever incremented in SQL, see ProjectMapper.incrementMemberVersion
+    @TableField(insertStrategy = FieldStrategy.NEVER, updateStrategy = FieldStrategy.NEVER)
+    private Long memberVersion;
 }
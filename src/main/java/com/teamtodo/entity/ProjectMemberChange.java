@@ -0,0 +1,50 @@
+package com.teamtodo.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * ProjectMemberChange Entity
+ * One row of the append-only membership change log, written with the change it records
+ */
+@Data
+@TableName("project_member_changes")
+public class ProjectMemberChange {
+    
+    public enum Type {
+        ADDED,
+        REMOVED
+    }
+    
+    @TableId(type = IdType.AUTO)
+    private Long id;
+    
+    private Long projectId;
+    
+    private Long version; // projects.member_version after the change
+    
+    private Type changeType;
+    
+    private Long memberId;
+    
+    private Long userId;
+    
+    private String role;
+    
+    private LocalDateTime changedAt;
+    
+    public static ProjectMemberChange of(ProjectMember member, Type type, LocalDateTime changedAt) {
+        ProjectMemberChange change = new ProjectMemberChange();
+        change.setProjectId(member.getProjectId());
+        change.setChangeType(type);
+        change.setMemberId(member.getId());
+        change.setUserId(member.getUserId());
+        change.setRole(member.getRole());
+        change.setChangedAt(changedAt);
+        return change;
+    }
+}
@@ -0,0 +1,62 @@
+package com.teamtodo.export;
+
+import com.teamtodo.dto.MemberResponse;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * RFC 4180 CSV with a header row, UTF-8 and CRLF line endings
+ */
+class CsvMemberExportWriter extends MemberExportWriter {
+    
+    static final String HEADER = "id,userId,username,email,role,joinedAt";
+    
+    private final Writer writer;
+    
+    CsvMemberExportWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+    
+    @Override
+    protected void writeRow(MemberResponse member) throws IOException {
+        writeField(member.getId());
+        writer.write(',');
+        writeField(member.getUserId());
+        writer.write(',');
+        writeField(member.getUsername());
+        writer.write(',');
+        writeField(member.getEmail());
+        writer.write(',');
+        writeField(member.getRole());
+        writer.write(',');
+        writeField(member.getJoinedAt() != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(member.getJoinedAt()) : null);
+        writer.write("\r\n");
+    }
+    
+    @Override
+    protected void flush() throws IOException {
+        writer.flush();
+    }
+    
+    private void writeField(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,66 @@
+package com.teamtodo.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Formats of the project member export, one member per line in both
+ */
+public enum MemberExportFormat {
+    
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON) {
+        @Override
+        public MemberExportWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            return new NdjsonMemberExportWriter(out, objectMapper);
+        }
+    },
+    
+    CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)) {
+        @Override
+        public MemberExportWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            return new CsvMemberExportWriter(out);
+        }
+    };
+    
+    private final String extension;
+    
+    private final MediaType mediaType;
+    
+    MemberExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+    
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+    
+    /**
+     * Start writing members in this format to the stream, which is flushed but never closed by the writer
+     */
+    public abstract MemberExportWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException;
+    
+    /**
+     * @param format "ndjson" (default when null) or "csv", case-insensitive
+     */
+    public static MemberExportFormat parse(String format) {
+        if (format == null) {
+            return NDJSON;
+        }
+        for (MemberExportFormat candidate : values()) {
+            if (candidate.extension.equals(format.toLowerCase(Locale.ROOT))) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Format must be either ndjson or csv");
+    }
+}
@@ -0,0 +1,47 @@
+package com.teamtodo.export;
+
+import com.teamtodo.dto.MemberResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes exported members to a response stream as they are read from the database
+ *
+ * Rows are buffered and pushed to the client every {@link #FLUSH_ROWS} rows, so a slow client
+ * blocks the writer (and with it the result set read) instead of letting rows pile up in memory.
+ * Closing flushes what is left without closing the underlying stream.
+ */
+public abstract class MemberExportWriter implements Consumer<MemberResponse>, Closeable {
+    
+    static final int FLUSH_ROWS = 500;
+    
+    private int unflushed;
+    
+    /**
+     * Write one member, I/O errors (typically the client going away) are rethrown unchecked
+     */
+    @Override
+    public void accept(MemberResponse member) {
+        try {
+            writeRow(member);
+            if (++unflushed == FLUSH_ROWS) {
+                unflushed = 0;
+                flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+    
+    protected abstract void writeRow(MemberResponse member) throws IOException;
+    
+    protected abstract void flush() throws IOException;
+}
@@ -0,0 +1,38 @@
+package com.teamtodo.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.teamtodo.dto.MemberResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * One JSON object per line, serialized like the member list endpoint
+ */
+class NdjsonMemberExportWriter extends MemberExportWriter {
+    
+    private final JsonGenerator generator;
+    
+    private final ObjectWriter writer;
+    
+    NdjsonMemberExportWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null); // Lines are ended explicitly
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+    
+    @Override
+    protected void writeRow(MemberResponse member) throws IOException {
+        writer.writeValue(generator, member);
+        generator.writeRaw('\n');
+    }
+    
+    @Override
+    protected void flush() throws IOException {
+        generator.flush();
+    }
+}
@@ -3,10 +3,37 @@ package com.teamtodo.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.teamtodo.entity.Project;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
 
 /**
  * Project Mapper
  */
 @Mapper
 public interface ProjectMapper extends BaseMapper<Project> {
+    
+    /**
+     * Bump the version of a project's member list, locking the project row until commit
+     * Leaves updated_at alone, a membership change is not an edit of the project.
+     * 
+     * @return 0 when the project does not exist
+     */
+    @Update("UPDATE projects SET member_version = member_version + 1, updated_at = updated_at " +
+            "WHERE id = #{projectId}")
+    int incrementMemberVersion(@Param("projectId") Long projectId);
+    
+    /**
+     * Lock the project row until commit without changing it, serializing membership changes of the project
+     * 
+     * @return Current version of the member list, null when the project does not exist
+     */
+    @Select("SELECT member_version FROM projects WHERE id = #{projectId} FOR UPDATE")
+    Long lockMemberVersion(@Param("projectId") Long projectId);
+    
+    /**
+     * Current version of a project's member list, null when the project does not exist
+     */
+    @Select("SELECT member_version FROM projects WHERE id = #{projectId}")
+    Long selectMemberVersion(@Param("projectId") Long projectId);
 }
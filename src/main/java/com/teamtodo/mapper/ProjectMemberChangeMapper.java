@@ -0,0 +1,70 @@
+package com.teamtodo.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.teamtodo.dto.MemberChange;
+import com.teamtodo.entity.ProjectMemberChange;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * ProjectMemberChange Mapper
+ */
+@Mapper
+public interface ProjectMemberChangeMapper extends BaseMapper<ProjectMemberChange> {
+    
+    /**
+     * Log changes with one multi-row INSERT, stamped with the project's member list version
+     * Must run in the transaction that bumped the version, after the bump.
+     */
+    @Insert({"<script>",
+            "INSERT INTO project_member_changes (project_id, version, change_type, member_id, user_id, role, changed_at) VALUES",
+            "<foreach collection='changes' item='c' separator=','>",
+            "(#{c.projectId}, (SELECT member_version FROM projects WHERE id = #{c.projectId}),",
+            " #{c.changeType}, #{c.memberId}, #{c.userId}, #{c.role}, #{c.changedAt})",
+            "</foreach>",
+            "</script>"})
+    int insertChanges(@Param("changes") List<ProjectMemberChange> changes);
+    
+    /**
+     * Changes of a project with since &lt; version &lt;= upTo, oldest first, with user details
+     * (served by idx_project_version)
+     */
+    @Select("SELECT c.version, c.change_type AS type, c.member_id, c.user_id, u.username, u.email, c.role, c.changed_at " +
+            "FROM project_member_changes c " +
+            "LEFT JOIN users u ON u.id = c.user_id " +
+            "WHERE c.project_id = #{projectId} AND c.version > #{since} AND c.version <= #{upTo} " +
+            "ORDER BY c.version, c.id " +
+            "LIMIT #{limit}")
+    List<MemberChange> selectChanges(@Param("projectId") Long projectId,
+                                     @Param("since") long since,
+                                     @Param("upTo") long upTo,
+                                     @Param("limit") int limit);
+    
+    /**
+     * Whether a change of the given version of a project is still in the log (served by idx_project_version)
+     */
+    @Select("SELECT EXISTS (SELECT 1 FROM project_member_changes WHERE project_id = #{projectId} AND version = #{version})")
+    boolean existsVersion(@Param("projectId") Long projectId, @Param("version") long version);
+    
+    /**
+     * Id of the newest change logged before the cutoff, null if there is none (served by idx_changed_at)
+     */
+    @Select("SELECT id FROM project_member_changes WHERE changed_at < #{cutoff} " +
+            "ORDER BY changed_at DESC, id DESC LIMIT 1")
+    Long selectLastIdLoggedBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    @Select("SELECT MIN(id) FROM project_member_changes")
+    Long selectOldestId();
+    
+    /**
+     * Drop the changes with fromId &lt;= id &lt;= toId
+     */
+    @Delete("DELETE FROM project_member_changes WHERE id >= #{fromId} AND id <= #{toId}")
+    int deleteRange(@Param("fromId") long fromId, @Param("toId") long toId);
+}
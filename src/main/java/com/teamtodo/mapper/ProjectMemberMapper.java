@@ -1,12 +1,144 @@
 package com.teamtodo.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.teamtodo.cache.MembershipKey;
+import com.teamtodo.dto.MemberCursor;
+import com.teamtodo.dto.MemberResponse;
+import com.teamtodo.dto.UserProjectResponse;
 import com.teamtodo.entity.ProjectMember;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * ProjectMember Mapper
  */
 @Mapper
 public interface ProjectMemberMapper extends BaseMapper<ProjectMember> {
+    
+    /**
+     * T005-03: Load the member list of a project together with user details
+     * in a single joined query (ordered by member id, served by idx_project_id)
+     */
+    @Select("SELECT pm.id, pm.user_id, u.username, u.email, pm.role, pm.joined_at " +
+            "FROM project_members pm " +
+            "LEFT JOIN users u ON u.id = pm.user_id " +
+            "WHERE pm.project_id = #{projectId} " +
+            "ORDER BY pm.id")
+    List<MemberResponse> selectMemberResponses(@Param("projectId") Long projectId);
+    
+    /**
+     * T005-03: Chunk of the rows of {@link #selectMemberResponses} after the given member id
+     * Seeks on the member id, which idx_project_id carries as its primary key suffix, so an
+     * export reads the list in short queries instead of holding one connection for all of it.
+     */
+    @Select("SELECT pm.id, pm.user_id, u.username, u.email, pm.role, pm.joined_at " +
+            "FROM project_members pm " +
+            "LEFT JOIN users u ON u.id = pm.user_id " +
+            "WHERE pm.project_id = #{projectId} AND pm.id > #{afterId} " +
+            "ORDER BY pm.id " +
+            "LIMIT #{limit}")
+    List<MemberResponse> selectMemberResponsesAfter(@Param("projectId") Long projectId,
+                                                    @Param("afterId") long afterId,
+                                                    @Param("limit") int limit);
+    
+    /**
+     * T005-03: Keyset page of a project's members ordered by (joined_at, id)
+     * Seeks past the given cursor instead of using OFFSET, so every page costs the same
+     * (served by idx_project_joined_at)
+     */
+    @Select({"<script>",
+            "SELECT pm.id, pm.user_id, u.username, u.email, pm.role, pm.joined_at",
+            "FROM project_members pm",
+            "LEFT JOIN users u ON u.id = pm.user_id",
+            "WHERE pm.project_id = #{projectId}",
+            "<if test='role != null'>AND pm.role = #{role}</if>",
+            "<if test='after != null'>",
+            "  <choose>",
+            "    <when test='descending'>",
+            "      AND (pm.joined_at &lt; #{after.joinedAt} OR (pm.joined_at = #{after.joinedAt} AND pm.id &lt; #{after.id}))",
+            "    </when>",
+            "    <otherwise>",
+            "      AND (pm.joined_at &gt; #{after.joinedAt} OR (pm.joined_at = #{after.joinedAt} AND pm.id &gt; #{after.id}))",
+            "    </otherwise>",
+            "  </choose>",
+            "</if>",
+            "<choose>",
+            "  <when test='descending'>ORDER BY pm.joined_at DESC, pm.id DESC</when>",
+            "  <otherwise>ORDER BY pm.joined_at ASC, pm.id ASC</otherwise>",
+            "</choose>",
+            "LIMIT #{limit}",
+            "</script>"})
+    List<MemberResponse> selectMemberPage(@Param("projectId") Long projectId,
+                                          @Param("role") String role,
+                                          @Param("after") MemberCursor after,
+                                          @Param("descending") boolean descending,
+                                          @Param("limit") int limit);
+    
+    /**
+     * AC2: Keyset page of the projects a user is a member of, newest membership first
+     * Seeks on the member id, which idx_user_id carries as its primary key suffix, so the page is
+     * read from the index in order without sorting, and joins each row to projects by primary key.
+     */
+    @Select({"<script>",
+            "SELECT pm.id AS member_id, p.id AS project_id, p.name, p.owner_id, pm.role, pm.joined_at",
+            "FROM project_members pm",
+            "JOIN projects p ON p.id = pm.project_id",
+            "WHERE pm.user_id = #{userId}",
+            "<if test='afterMemberId != null'>AND pm.id &lt; #{afterMemberId}</if>",
+            "ORDER BY pm.id DESC",
+            "LIMIT #{limit}",
+            "</script>"})
+    List<UserProjectResponse> selectUserProjects(@Param("userId") Long userId,
+                                                 @Param("afterMemberId") Long afterMemberId,
+                                                 @Param("limit") int limit);
+    
+    /**
+     * T005-02: Insert several members with one multi-row INSERT, generated ids are written back
+     */
+    @Insert({"<script>",
+            "INSERT INTO project_members (project_id, user_id, role, joined_at) VALUES",
+            "<foreach collection='members' item='m' separator=','>",
+            "(#{m.projectId}, #{m.userId}, #{m.role}, #{m.joinedAt})",
+            "</foreach>",
+            "</script>"})
+    @Options(useGeneratedKeys = true, keyProperty = "id")
+    int insertBatch(@Param("members") List<ProjectMember> members);
+    
+    /**
+     * AC5: Resolve many (project, user) pairs with one row-constructor IN query on uk_project_user
+     * Only pairs that are memberships come back.
+     */
+    @Select({"<script>",
+            "SELECT project_id, user_id FROM project_members",
+            "WHERE (project_id, user_id) IN",
+            "<foreach collection='keys' item='k' open='(' separator=',' close=')'>",
+            "(#{k.projectId}, #{k.userId})",
+            "</foreach>",
+            "</script>"})
+    List<ProjectMember> selectByProjectUserPairs(@Param("keys") Collection<MembershipKey> keys);
+    
+    /**
+     * AC5: Read (project, user) pairs in id order, one chunk at a time, to build the membership index
+     */
+    @Select("SELECT id, project_id, user_id FROM project_members " +
+            "WHERE id > #{afterId} ORDER BY id LIMIT #{limit}")
+    List<ProjectMember> selectMembershipChunk(@Param("afterId") long afterId, @Param("limit") int limit);
+    
+    /**
+     * T005-04: Delete a member only if the requesting user owns the project and is not the member
+     * Returns 0 when any rule fails, the caller works out which one.
+     */
+    @Delete("DELETE FROM project_members " +
+            "WHERE id = #{memberId} AND project_id = #{projectId} AND user_id <> #{requestUserId} " +
+            "AND EXISTS (SELECT 1 FROM projects p WHERE p.id = #{projectId} AND p.owner_id = #{requestUserId})")
+    int deleteByOwner(@Param("projectId") Long projectId,
+                      @Param("memberId") Long memberId,
+                      @Param("requestUserId") Long requestUserId);
 }
@@ -3,6 +3,11 @@ package com.teamtodo.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.teamtodo.entity.User;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * User Mapper
@@ -10,4 +15,31 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface UserMapper extends BaseMapper<User> {
+    
+    /**
+     * AC1: Read users in id order, one chunk at a time, to build the search index
+     */
+    @Select("SELECT id, username, email, updated_at FROM users " +
+            "WHERE id > #{afterId} ORDER BY id LIMIT #{limit}")
+    List<User> selectUserChunk(@Param("afterId") long afterId, @Param("limit") int limit);
+    
+    /**
+     * AC1: Read users changed after (updatedAt, id), in that order, served by idx_updated_at
+     */
+    @Select("SELECT id, username, email, updated_at FROM users " +
+            "WHERE updated_at > #{updatedAt} OR (updated_at = #{updatedAt} AND id > #{afterId}) " +
+            "ORDER BY updated_at, id LIMIT #{limit}")
+    List<User> selectUsersUpdatedAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                       @Param("afterId") long afterId,
+                                       @Param("limit") int limit);
+    
+    /**
+     * AC1: Prefix search on username or email through their indexes
+     * Used while the in-memory search index is not loaded yet
+     */
+    @Select("SELECT id, username, email FROM users WHERE username LIKE #{prefix} " +
+            "UNION " +
+            "SELECT id, username, email FROM users WHERE email LIKE #{prefix} " +
+            "ORDER BY username LIMIT #{limit}")
+    List<User> selectByPrefix(@Param("prefix") String prefix, @Param("limit") int limit);
 }
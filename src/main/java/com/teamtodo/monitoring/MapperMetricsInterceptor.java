@@ -0,0 +1,74 @@
+package com.teamtodo.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every mapper call as teamtodo.mapper, tagged with mapper, method and outcome
+ * The timer count doubles as the call counter. Picked up by MyBatis-Plus as an Interceptor bean.
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update",
+                args = { MappedStatement.class, Object.class }),
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class }),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = { MappedStatement.class, Object.class, RowBounds.class })
+})
+public class MapperMetricsInterceptor implements Interceptor {
+    
+    static final String METRIC_NAME = "teamtodo.mapper";
+    
+    private final MeterRegistry registry;
+    
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    
+    public MapperMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+    
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        long started = System.nanoTime();
+        String outcome = "error";
+        try {
+            Object result = invocation.proceed();
+            outcome = "success";
+            return result;
+        } finally {
+            timer(statement.getId(), outcome).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    private Timer timer(String statementId, String outcome) {
+        return timers.computeIfAbsent(statementId + '#' + outcome, key -> {
+            // Statement ids are "<mapper interface>.<method>"
+            int dot = statementId.lastIndexOf('.');
+            String mapper = statementId.substring(statementId.lastIndexOf('.', dot - 1) + 1, dot);
+            return Timer.builder(METRIC_NAME)
+                    .description("Mapper calls")
+                    .tag("mapper", mapper)
+                    .tag("method", statementId.substring(dot + 1))
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        });
+    }
+}
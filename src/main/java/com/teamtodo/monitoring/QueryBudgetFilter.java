@@ -0,0 +1,36 @@
+package com.teamtodo.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens and closes the {@link SqlMonitor} tally around each HTTP request
+ * Requests are reported by their mapped path pattern, so /projects/1/members and
+ * /projects/2/members count as the same request.
+ */
+public class QueryBudgetFilter extends OncePerRequestFilter {
+    
+    private final SqlMonitor sqlMonitor;
+    
+    public QueryBudgetFilter(SqlMonitor sqlMonitor) {
+        this.sqlMonitor = sqlMonitor;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        sqlMonitor.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            sqlMonitor.endRequest(request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED"));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.teamtodo.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size, lock-free buffer keeping the most recent entries, older ones are overwritten
+ */
+class RingBuffer<T> {
+    
+    private final AtomicReferenceArray<T> slots;
+    
+    private final AtomicLong next = new AtomicLong();
+    
+    RingBuffer(int capacity) {
+        this.slots = new AtomicReferenceArray<>(Math.max(1, capacity));
+    }
+    
+    void add(T entry) {
+        slots.set((int) (next.getAndIncrement() % slots.length()), entry);
+    }
+    
+    /**
+     * Entries currently held, in no particular order
+     */
+    List<T> snapshot() {
+        List<T> entries = new ArrayList<>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            T entry = slots.get(i);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+    
+    void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.teamtodo.monitoring;
+
+import com.teamtodo.config.SqlMonitorProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Per-request SQL statement budget and slow statement log
+ *
+ * The request filter opens a tally for a sample of HTTP requests, the MyBatis interceptor adds
+ * every statement the request runs to it, and requests running more statements than the budget
+ * (typically an N+1 loop) are logged and kept for the sqlmonitor actuator endpoint. Statements
+ * slower than the threshold are kept with their SQL and bind-parameter types, never the values.
+ *
+ * The hot path is a ThreadLocal lookup and two counter increments per statement; the SQL text
+ * and parameter shape are only built for slow statements.
+ */
+@Component
+public class SqlMonitor {
+    
+    private static final Logger log = LoggerFactory.getLogger(SqlMonitor.class);
+    
+    private final SqlMonitorProperties properties;
+    
+    private final MeterRegistry registry;
+    
+    private final ThreadLocal<Tally> current = new ThreadLocal<>();
+    
+    private final RingBuffer<SlowStatement> slowStatements;
+    
+    private final RingBuffer<BudgetViolation> violations;
+    
+    public SqlMonitor(SqlMonitorProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+        this.slowStatements = new RingBuffer<>(properties.getSlowLogSize());
+        this.violations = new RingBuffer<>(properties.getViolationLogSize());
+    }
+    
+    /**
+     * Start counting the statements of the request handled by this thread, if it is sampled
+     */
+    public void beginRequest() {
+        if (properties.isEnabled() && ThreadLocalRandom.current().nextDouble() < properties.getSampleRate()) {
+            current.set(new Tally());
+        }
+    }
+    
+    /**
+     * Stop counting and flag the request if it went over the statement budget
+     *
+     * @param request the request as "METHOD /path/{pattern}"
+     */
+    public void endRequest(String request) {
+        Tally tally = current.get();
+        if (tally == null) {
+            return;
+        }
+        current.remove();
+        if (tally.statements == 0) {
+            return;
+        }
+        
+        DistributionSummary.builder("teamtodo.sql.statements")
+                .description("SQL statements per sampled HTTP request")
+                .tag("request", request)
+                .register(registry)
+                .record(tally.statements);
+        if (tally.statements > properties.getStatementBudget()) {
+            Counter.builder("teamtodo.sql.budget.exceeded")
+                    .description("Sampled HTTP requests that ran more SQL statements than the budget")
+                    .tag("request", request)
+                    .register(registry)
+                    .increment();
+            violations.add(new BudgetViolation(Instant.now(), request, tally.statements, tally.rows,
+                    tally.nanos / 1_000_000));
+            log.warn("{} ran {} SQL statements ({} rows, {} ms), budget is {}", request, tally.statements,
+                    tally.rows, tally.nanos / 1_000_000, properties.getStatementBudget());
+        }
+    }
+    
+    /**
+     * Record one executed statement
+     *
+     * @param boundSql supplies the SQL, only called for slow statements
+     */
+    public void record(MappedStatement statement, Supplier<BoundSql> boundSql, long nanos, long rows) {
+        Tally tally = current.get();
+        if (tally != null) {
+            tally.statements++;
+            tally.rows += rows;
+            tally.nanos += nanos;
+        }
+        if (properties.isEnabled() && nanos >= properties.getSlowThreshold().toNanos()) {
+            BoundSql sql = boundSql.get();
+            slowStatements.add(new SlowStatement(Instant.now(), statement.getId(), normalize(sql.getSql()),
+                    parameterShape(statement.getConfiguration(), sql), nanos / 1_000_000, rows));
+        }
+    }
+    
+    /**
+     * Recent slow statements, slowest first
+     */
+    public List<SlowStatement> slowStatements() {
+        List<SlowStatement> entries = new ArrayList<>(slowStatements.snapshot());
+        entries.sort(Comparator.comparingLong(SlowStatement::millis).reversed());
+        return entries;
+    }
+    
+    /**
+     * Recent over-budget requests, most statements first
+     */
+    public List<BudgetViolation> violations() {
+        List<BudgetViolation> entries = new ArrayList<>(violations.snapshot());
+        entries.sort(Comparator.comparingInt(BudgetViolation::statements).reversed());
+        return entries;
+    }
+    
+    public void clear() {
+        slowStatements.clear();
+        violations.clear();
+    }
+    
+    private static String normalize(String sql) {
+        return sql.replaceAll("\\s+", " ").trim();
+    }
+    
+    /**
+     * Java types of the bind parameters in order, e.g. "(Long, Long, String)"
+     */
+    private static String parameterShape(Configuration configuration, BoundSql boundSql) {
+        Object parameter = boundSql.getParameterObject();
+        StringJoiner shape = new StringJoiner(", ", "(", ")");
+        try {
+            MetaObject metaObject = null;
+            for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+                String property = mapping.getProperty();
+                Object value;
+                if (boundSql.hasAdditionalParameter(property)) {
+                    value = boundSql.getAdditionalParameter(property);
+                } else if (parameter == null) {
+                    value = null;
+                } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+                    value = parameter;
+                } else {
+                    if (metaObject == null) {
+                        metaObject = configuration.newMetaObject(parameter);
+                    }
+                    value = metaObject.getValue(property);
+                }
+                shape.add(value == null ? "null" : value.getClass().getSimpleName());
+            }
+        } catch (RuntimeException e) {
+            return "(?)"; // The shape is diagnostic only, never fail the statement over it
+        }
+        return shape.toString();
+    }
+    
+    /**
+     * Statements run so far by one request, only touched by the thread handling it
+     */
+    private static class Tally {
+        
+        private int statements;
+        
+        private long rows;
+        
+        private long nanos;
+    }
+    
+    public record SlowStatement(Instant at, String statement, String sql, String parameters, long millis, long rows) {
+    }
+    
+    public record BudgetViolation(Instant at, String request, int statements, long rows, long millis) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.teamtodo.monitoring;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.Collection;
+
+/**
+ * Feeds every executed statement with its duration and row count into the {@link SqlMonitor}
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update",
+                args = { MappedStatement.class, Object.class }),
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class }),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = { MappedStatement.class, Object.class, RowBounds.class })
+})
+public class SqlMonitorInterceptor implements Interceptor {
+    
+    private final SqlMonitor sqlMonitor;
+    
+    public SqlMonitorInterceptor(SqlMonitor sqlMonitor) {
+        this.sqlMonitor = sqlMonitor;
+    }
+    
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement statement = (MappedStatement) args[0];
+        long started = System.nanoTime();
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } finally {
+            long nanos = System.nanoTime() - started;
+            sqlMonitor.record(statement,
+                    () -> args.length == 6 ? (BoundSql) args[5] : statement.getBoundSql(args[1]),
+                    nanos, rows(result));
+        }
+    }
+    
+    private static long rows(Object result) {
+        if (result instanceof Collection<?> rows) {
+            return rows.size();
+        }
+        if (result instanceof Integer updated) {
+            return updated;
+        }
+        return 0; // Cursors and failed statements
+    }
+}
@@ -0,0 +1,224 @@
+package com.teamtodo.push;
+
+import com.teamtodo.config.MemberEventsProperties;
+import com.teamtodo.entity.ProjectMemberChange;
+import com.teamtodo.mapper.ProjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes member list changes to the Server-Sent Events streams of a project (T005-03)
+ *
+ * Streams are servlet async requests, so an idle subscriber holds no thread, only its emitter
+ * and an empty queue. The member service publishes after commit; the event is rendered once and
+ * queued for every subscriber of the project, and each queue is drained by a short task on the
+ * application task executor (virtual threads when enabled), so a slow client only delays itself.
+ * A subscriber that falls too far behind is disconnected and resyncs on reconnect.
+ *
+ * Events only say that the list changed and which version it is at; clients fetch the changes
+ * with GET /projects/{projectId}/members/changes?since={their version}.
+ */
+@Component
+public class MemberEventBroadcaster {
+    
+    private static final Logger log = LoggerFactory.getLogger(MemberEventBroadcaster.class);
+    
+    static final String VERSION_EVENT = "version";
+    
+    static final String CHANGE_EVENT = "members";
+    
+    private final MemberEventsProperties properties;
+    
+    private final ProjectMapper projectMapper;
+    
+    private final TaskExecutor taskExecutor;
+    
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    
+    private final Counter eventsSent;
+    
+    private final Counter subscribersDropped;
+    
+    public MemberEventBroadcaster(MemberEventsProperties properties,
+                                  ProjectMapper projectMapper,
+                                  @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                  MeterRegistry registry) {
+        this.properties = properties;
+        this.projectMapper = projectMapper;
+        this.taskExecutor = taskExecutor;
+        Gauge.builder("teamtodo.member.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open member event streams")
+                .register(registry);
+        this.eventsSent = Counter.builder("teamtodo.member.events.sent")
+                .description("Member events written to subscribers, heartbeats included")
+                .register(registry);
+        this.subscribersDropped = Counter.builder("teamtodo.member.events.dropped")
+                .description("Member event streams closed because the subscriber fell behind")
+                .register(registry);
+    }
+    
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+    
+    /**
+     * Open an event stream for a project whose member list is at the given version
+     * The stream starts with a "version" event, so a client that reconnects after missing
+     * events sees that its copy is behind.
+     * 
+     * @throws IllegalStateException when this instance already serves the maximum number of streams
+     */
+    public SseEmitter subscribe(Long projectId, long version) {
+        if (subscriberCount.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many member event subscribers, retry later");
+        }
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(projectId, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> {
+            unsubscribe(subscriber);
+            emitter.complete(); // End the stream normally instead of as a failed request
+        });
+        emitter.onError(e -> unsubscribe(subscriber));
+        // Added inside compute so the set cannot be dropped by a concurrent unsubscribe in between
+        subscribers.compute(projectId, (id, projectSubscribers) -> {
+            Set<Subscriber> added = projectSubscribers != null ? projectSubscribers : ConcurrentHashMap.newKeySet();
+            added.add(subscriber);
+            return added;
+        });
+        subscriber.enqueue(event(VERSION_EVENT, version, "{\"version\":" + version + "}"));
+        return emitter;
+    }
+    
+    /**
+     * Tell the subscribers of a project that members were added or removed
+     * Called after the change committed. The current version is read on the executor and
+     * only when the project has subscribers, so writes to unwatched projects cost nothing.
+     */
+    public void publish(Long projectId, ProjectMemberChange.Type type, int count) {
+        if (!hasSubscribers(projectId)) {
+            return;
+        }
+        taskExecutor.execute(() -> {
+            Long version = projectMapper.selectMemberVersion(projectId);
+            if (version == null) {
+                return; // Project deleted since
+            }
+            Set<ResponseBodyEmitter.DataWithMediaType> event = event(CHANGE_EVENT, version,
+                    "{\"version\":" + version + ",\"type\":\"" + type + "\",\"count\":" + count + "}");
+            subscribers.getOrDefault(projectId, Set.of()).forEach(subscriber -> subscriber.enqueue(event));
+        });
+    }
+    
+    public boolean hasSubscribers(Long projectId) {
+        Set<Subscriber> projectSubscribers = subscribers.get(projectId);
+        return projectSubscribers != null && !projectSubscribers.isEmpty();
+    }
+    
+    /**
+     * Send a comment line down every stream, so proxies do not close idle ones and
+     * streams of clients that went away are noticed
+     */
+    @Scheduled(fixedDelayString = "${teamtodo.member-events.heartbeat-interval:PT30S}",
+            initialDelayString = "${teamtodo.member-events.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment("").build();
+        for (Set<Subscriber> projectSubscribers : subscribers.values()) {
+            projectSubscribers.forEach(subscriber -> subscriber.enqueue(heartbeat));
+        }
+    }
+    
+    private void unsubscribe(Subscriber subscriber) {
+        AtomicBoolean removed = new AtomicBoolean();
+        subscribers.computeIfPresent(subscriber.projectId, (id, projectSubscribers) -> {
+            removed.set(projectSubscribers.remove(subscriber));
+            return projectSubscribers.isEmpty() ? null : projectSubscribers;
+        });
+        if (removed.get()) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+    
+    private static Set<ResponseBodyEmitter.DataWithMediaType> event(String name, long version, String json) {
+        return SseEmitter.event().id(Long.toString(version)).name(name).data(json).build();
+    }
+    
+    /**
+     * One open stream and the events not yet written to it, drained by at most one task at a time
+     * so events reach the client in the order they were queued
+     */
+    private class Subscriber {
+        
+        private final Long projectId;
+        
+        private final SseEmitter emitter;
+        
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ConcurrentLinkedQueue<>();
+        
+        private final AtomicInteger queued = new AtomicInteger();
+        
+        private final AtomicBoolean draining = new AtomicBoolean();
+        
+        Subscriber(Long projectId, SseEmitter emitter) {
+            this.projectId = projectId;
+            this.emitter = emitter;
+        }
+        
+        void enqueue(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (queued.incrementAndGet() > properties.getMaxQueuedEvents()) {
+                subscribersDropped.increment();
+                unsubscribe(this);
+                emitter.complete();
+                return;
+            }
+            queue.add(event);
+            if (draining.compareAndSet(false, true)) {
+                taskExecutor.execute(this::drain);
+            }
+        }
+        
+        private void drain() {
+            do {
+                Set<ResponseBodyEmitter.DataWithMediaType> event;
+                while ((event = queue.poll()) != null) {
+                    queued.decrementAndGet();
+                    try {
+                        emitter.send(event);
+                        eventsSent.increment();
+                    } catch (IOException | IllegalStateException e) {
+                        // The client went away or the stream already completed, the container completes the emitter
+                        log.debug("Dropping member event subscriber of project {}: {}", projectId, e.toString());
+                        unsubscribe(this);
+                        queue.clear();
+                        return;
+                    }
+                }
+                draining.set(false);
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
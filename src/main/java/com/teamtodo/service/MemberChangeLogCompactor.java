@@ -0,0 +1,60 @@
+package com.teamtodo.service;
+
+import com.teamtodo.config.MemberChangeLogProperties;
+import com.teamtodo.mapper.ProjectMemberChangeMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Drops membership changes older than the retention from the change log
+ * Delta syncs from before the oldest remaining change of a project are answered with a snapshot.
+ */
+@Component
+public class MemberChangeLogCompactor {
+    
+    private static final Logger log = LoggerFactory.getLogger(MemberChangeLogCompactor.class);
+    
+    @Autowired
+    private ProjectMemberChangeMapper projectMemberChangeMapper;
+    
+    @Autowired
+    private MemberChangeLogProperties properties;
+    
+    @Scheduled(fixedDelayString = "${teamtodo.member-changes.compaction-interval:PT1H}",
+            initialDelayString = "${teamtodo.member-changes.compaction-interval:PT1H}")
+    public void compact() {
+        try {
+            int removed = compact(LocalDateTime.now().minus(properties.getRetention()));
+            if (removed > 0) {
+                log.info("Removed {} membership changes older than {}", removed, properties.getRetention());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Membership change log compaction failed, retrying next interval", e);
+        }
+    }
+    
+    /**
+     * Delete every change up to the newest one logged before the cutoff, oldest first, one id
+     * range per statement. Changes of a project are logged under its row lock, so their ids
+     * follow their versions and only the oldest changes of a project are ever missing.
+     * 
+     * @return Number of changes removed
+     */
+    int compact(LocalDateTime cutoff) {
+        Long lastId = projectMemberChangeMapper.selectLastIdLoggedBefore(cutoff);
+        if (lastId == null) {
+            return 0;
+        }
+        long batchSize = properties.getCompactionBatchSize();
+        int removed = 0;
+        for (long fromId = projectMemberChangeMapper.selectOldestId(); fromId <= lastId; fromId += batchSize) {
+            removed += projectMemberChangeMapper.deleteRange(fromId, Math.min(fromId + batchSize - 1, lastId));
+        }
+        return removed;
+    }
+}
@@ -1,145 +1,632 @@
 package com.teamtodo.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.teamtodo.cache.EntityCache;
+import com.teamtodo.cache.MembershipCache;
+import com.teamtodo.cache.MembershipIndex;
+import com.teamtodo.cache.MembershipKey;
+import com.teamtodo.cache.RequestCoalescer;
+import com.teamtodo.cache.UserProjectsCache;
+import com.teamtodo.config.MemberExportProperties;
+import com.teamtodo.datasource.ReadYourWritesTracker;
 import com.teamtodo.dto.AddMemberRequest;
+import com.teamtodo.dto.BatchAddMemberResult;
+import com.teamtodo.dto.BatchAddMembersResponse;
+import com.teamtodo.dto.MemberChange;
+import com.teamtodo.dto.MemberChanges;
+import com.teamtodo.dto.MemberCursor;
+import com.teamtodo.dto.MemberPage;
+import com.teamtodo.dto.MemberQuery;
 import com.teamtodo.dto.MemberResponse;
+import com.teamtodo.dto.UserProjectCursor;
+import com.teamtodo.dto.UserProjectPage;
+import com.teamtodo.dto.UserProjectResponse;
 import com.teamtodo.entity.Project;
 import com.teamtodo.entity.ProjectMember;
+import com.teamtodo.entity.ProjectMemberChange;
 import com.teamtodo.entity.User;
 import com.teamtodo.mapper.ProjectMapper;
+import com.teamtodo.mapper.ProjectMemberChangeMapper;
 import com.teamtodo.mapper.ProjectMemberMapper;
 import com.teamtodo.mapper.UserMapper;
+import com.teamtodo.push.MemberEventBroadcaster;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * Service for managing project members
  * Implements T005-01 to T005-04
+ *
+ * Read-only methods are marked @Transactional(readOnly = true) so that, with read replicas
+ * configured, they read from a replica unless the project or user changed within the
+ * read-your-writes window. Single-statement reads use SUPPORTS propagation, which marks the
+ * scope read-only without starting a database transaction. Membership checks are access
+ * control and keep reading the primary behind their caches.
  */
 @Service
+@Timed("teamtodo.service")
 public class ProjectMemberService {
     
+    static final int DEFAULT_PAGE_SIZE = 50;
+    
+    static final int MAX_PAGE_SIZE = 500;
+    
+    static final int MAX_BATCH_SIZE = 10_000;
+    
+    static final int INSERT_CHUNK_SIZE = 1_000;
+    
+    static final int MAX_DELTA_CHANGES = 1_000;
+    
     @Autowired
     private ProjectMemberMapper projectMemberMapper;
     
     @Autowired
     private ProjectMapper projectMapper;
     
+    @Autowired
+    private ProjectMemberChangeMapper projectMemberChangeMapper;
+    
     @Autowired
     private UserMapper userMapper;
     
+    @Autowired
+    private EntityCache entityCache;
+    
+    @Autowired
+    private MembershipCache membershipCache;
+    
+    @Autowired
+    private MembershipIndex membershipIndex;
+    
+    @Autowired
+    private UserProjectsCache userProjectsCache;
+    
+    @Autowired
+    private MemberEventBroadcaster memberEventBroadcaster;
+    
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+    
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private MemberExportProperties memberExportProperties;
+    
     /**
      * T005-02: Add a member to a project with duplicate validation
+     * The project's member list version is bumped first, which fails for unknown projects and
+     * takes the project row lock before the insert's foreign key check would take a shared one,
+     * so concurrent adds to a project queue up instead of deadlocking. The INSERT then relies on
+     * uk_project_user to reject duplicates and on the foreign key to reject unknown users, which
+     * are only looked up after a rejected insert. A rejected insert rolls the version back.
+     * The change is logged for delta sync in the same transaction.
      */
     @Transactional
     public ProjectMember addMember(AddMemberRequest request) {
-        // Validate project exists
-        Project project = projectMapper.selectById(request.getProjectId());
-        if (project == null) {
+        ProjectMember member = new ProjectMember();
+        member.setProjectId(request.getProjectId());
+        member.setUserId(request.getUserId());
+        member.setRole(request.getRole() != null ? request.getRole() : "MEMBER");
+        member.setJoinedAt(LocalDateTime.now());
+        
+        if (projectMapper.incrementMemberVersion(request.getProjectId()) == 0) {
             throw new IllegalArgumentException("Project not found with id: " + request.getProjectId());
         }
+        try {
+            projectMemberMapper.insert(member);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException("User is already a member of this project");
+        } catch (DataIntegrityViolationException e) {
+            throw missingUser(request.getUserId(), e);
+        }
+        projectMemberChangeMapper.insertChanges(List.of(
+                ProjectMemberChange.of(member, ProjectMemberChange.Type.ADDED, member.getJoinedAt())));
+        membersAdded(member.getProjectId(), List.of(member.getUserId()));
+        return member;
+    }
+    
+    /**
+     * T005-02: Add many members to a project at once
+     * Users and existing memberships are each resolved with one IN query and the new rows are
+     * written with multi-row INSERTs, so the cost does not grow with one round trip per item.
+     * Items that cannot be added are reported instead of failing the whole batch.
+     * The project row is locked before existing memberships are read, so a concurrent add of the
+     * same user waits and cannot turn the pre-read into a duplicate key failure. Items are checked
+     * with the same constraints as a single add.
+     * The users are read through the entity cache; if one of them was deleted while cached, the
+     * insert's foreign key check fails, their entries are dropped and the batch is rejected like a
+     * single add of that user, so a retry reports it as USER_NOT_FOUND.
+     */
+    @Transactional
+    public BatchAddMembersResponse addMembers(Long projectId, List<AddMemberRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one member is required");
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " members can be added at once");
+        }
         
-        // Validate user exists
-        User user = userMapper.selectById(request.getUserId());
-        if (user == null) {
-            throw new IllegalArgumentException("User not found with id: " + request.getUserId());
+        // Validate project exists, locking it for the rest of the batch
+        if (projectMapper.lockMemberVersion(projectId) == null) {
+            throw new IllegalArgumentException("Project not found with id: " + projectId);
         }
         
-        // Check if user is already a member (duplicate validation)
-        QueryWrapper<ProjectMember> queryWrapper = new QueryWrapper<>();
-        queryWrapper.eq("project_id", request.getProjectId())
-                   .eq("user_id", request.getUserId());
-        ProjectMember existingMember = projectMemberMapper.selectOne(queryWrapper);
+        // Resolve all requested users and existing memberships up front
+        Set<Long> requestedUserIds = requests.stream()
+                .map(AddMemberRequest::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<Long> knownUserIds = requestedUserIds.isEmpty() ? Collections.emptySet()
+                : entityCache.getUsers(requestedUserIds, missing -> userMapper.selectBatchIds(missing).stream()
+                        .collect(Collectors.toMap(User::getId, user -> user))).keySet();
+        Set<Long> existingUserIds = knownUserIds.isEmpty() ? Collections.emptySet()
+                : projectMemberMapper.selectList(new QueryWrapper<ProjectMember>()
+                                .select("user_id")
+                                .eq("project_id", projectId)
+                                .in("user_id", knownUserIds)).stream()
+                        .map(ProjectMember::getUserId)
+                        .collect(Collectors.toSet());
         
-        if (existingMember != null) {
-            throw new IllegalArgumentException("User is already a member of this project");
+        BatchAddMembersResponse response = new BatchAddMembersResponse();
+        response.setProjectId(projectId);
+        List<BatchAddMemberResult> results = new ArrayList<>(requests.size());
+        List<ProjectMember> newMembers = new ArrayList<>();
+        List<BatchAddMemberResult> addedResults = new ArrayList<>();
+        Set<Long> seenUserIds = new HashSet<>();
+        LocalDateTime joinedAt = LocalDateTime.now();
+        
+        for (AddMemberRequest request : requests) {
+            BatchAddMemberResult result = new BatchAddMemberResult();
+            result.setUserId(request.getUserId());
+            results.add(result);
+            String roleError = roleViolation(request);
+            
+            if (request.getUserId() == null) {
+                result.setStatus(BatchAddMemberResult.Status.INVALID);
+                result.setMessage("User ID is required");
+            } else if (request.getProjectId() != null && !request.getProjectId().equals(projectId)) {
+                result.setStatus(BatchAddMemberResult.Status.INVALID);
+                result.setMessage("Project ID does not match the batch project");
+            } else if (roleError != null) {
+                result.setStatus(BatchAddMemberResult.Status.INVALID);
+                result.setMessage(roleError);
+            } else if (!knownUserIds.contains(request.getUserId())) {
+                result.setStatus(BatchAddMemberResult.Status.USER_NOT_FOUND);
+            } else if (existingUserIds.contains(request.getUserId()) || !seenUserIds.add(request.getUserId())) {
+                result.setStatus(BatchAddMemberResult.Status.DUPLICATE);
+            } else {
+                ProjectMember member = new ProjectMember();
+                member.setProjectId(projectId);
+                member.setUserId(request.getUserId());
+                member.setRole(request.getRole() != null ? request.getRole() : "MEMBER");
+                member.setJoinedAt(joinedAt);
+                newMembers.add(member);
+                addedResults.add(result);
+            }
         }
         
-        // Create new member
-        ProjectMember member = new ProjectMember();
-        member.setProjectId(request.getProjectId());
-        member.setUserId(request.getUserId());
-        member.setRole(request.getRole() != null ? request.getRole() : "MEMBER");
-        member.setJoinedAt(LocalDateTime.now());
+        if (!newMembers.isEmpty() && projectMapper.incrementMemberVersion(projectId) == 0) {
+            throw new IllegalArgumentException("Project not found with id: " + projectId);
+        }
+        try {
+            for (int from = 0; from < newMembers.size(); from += INSERT_CHUNK_SIZE) {
+                List<ProjectMember> chunk = newMembers.subList(from, Math.min(from + INSERT_CHUNK_SIZE, newMembers.size()));
+                projectMemberMapper.insertBatch(chunk);
+                projectMemberChangeMapper.insertChanges(chunk.stream()
+                        .map(member -> ProjectMemberChange.of(member, ProjectMemberChange.Type.ADDED, joinedAt))
+                        .toList());
+            }
+        } catch (DuplicateKeyException e) {
+            throw e;
+        } catch (DataIntegrityViolationException e) {
+            entityCache.invalidateUsers(knownUserIds);
+            throw missingUsers(newMembers.stream().map(ProjectMember::getUserId).toList(), e);
+        }
+        for (int i = 0; i < newMembers.size(); i++) {
+            addedResults.get(i).setStatus(BatchAddMemberResult.Status.ADDED);
+            addedResults.get(i).setMemberId(newMembers.get(i).getId());
+        }
+        if (!newMembers.isEmpty()) {
+            membersAdded(projectId, newMembers.stream().map(ProjectMember::getUserId).toList());
+        }
         
-        projectMemberMapper.insert(member);
-        return member;
+        for (BatchAddMemberResult result : results) {
+            switch (result.getStatus()) {
+                case ADDED -> response.setAdded(response.getAdded() + 1);
+                case DUPLICATE -> response.setDuplicates(response.getDuplicates() + 1);
+                case USER_NOT_FOUND -> response.setUnknownUsers(response.getUnknownUsers() + 1);
+                case INVALID -> response.setInvalid(response.getInvalid() + 1);
+            }
+        }
+        response.setResults(results);
+        return response;
+    }
+    
+    /**
+     * T005-03: Version of a project's member list, changed by every member added or removed
+     * Lets clients that poll the list revalidate it with one primary key lookup.
+     * 
+     * @return Null when the project does not exist
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Long getMemberListVersion(Long projectId) {
+        readYourWritesTracker.readingProject(projectId);
+        return projectMapper.selectMemberVersion(projectId);
+    }
+    
+    /**
+     * T005-03: Bring a copy of a project's member list from the given version to the current one
+     * Returns the logged changes after that version when the log still holds all of them,
+     * otherwise (no version given, version unknown, log compacted, or more than
+     * MAX_DELTA_CHANGES changes behind) a full snapshot. The log is compacted in id order, which
+     * is version order within a project, so it holds every later change as long as a change of
+     * the given version itself is still there. Runs in one read-only transaction so that the
+     * version and the rows come from the same snapshot.
+     */
+    @Transactional(readOnly = true)
+    public MemberChanges getMemberChanges(Long projectId, Long since) {
+        if (since != null && since < 0) {
+            throw new IllegalArgumentException("Since must not be negative");
+        }
+        readYourWritesTracker.readingProject(projectId);
+        Long version = projectMapper.selectMemberVersion(projectId);
+        if (version == null) {
+            throw new IllegalArgumentException("Project not found with id: " + projectId);
+        }
+        
+        if (since != null && since.equals(version)) {
+            return MemberChanges.delta(projectId, version, List.of());
+        }
+        if (since != null && since > 0 && since < version && projectMemberChangeMapper.existsVersion(projectId, since)) {
+            List<MemberChange> changes = projectMemberChangeMapper.selectChanges(projectId, since, version, MAX_DELTA_CHANGES + 1);
+            if (changes.size() <= MAX_DELTA_CHANGES) {
+                return MemberChanges.delta(projectId, version, changes);
+            }
+        }
+        return MemberChanges.snapshot(projectId, version, projectMemberMapper.selectMemberResponses(projectId));
     }
     
     /**
      * T005-03: Get list of project members
+     * User details are joined in SQL, so the cost is one query regardless of member count
      */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<MemberResponse> getProjectMembers(Long projectId) {
-        QueryWrapper<ProjectMember> queryWrapper = new QueryWrapper<>();
-        queryWrapper.eq("project_id", projectId);
-        List<ProjectMember> members = projectMemberMapper.selectList(queryWrapper);
-        
-        return members.stream().map(member -> {
-            MemberResponse response = new MemberResponse();
-            response.setId(member.getId());
-            response.setUserId(member.getUserId());
-            response.setRole(member.getRole());
-            response.setJoinedAt(member.getJoinedAt());
-            
-            // Get user information
-            User user = userMapper.selectById(member.getUserId());
-            if (user != null) {
-                response.setUsername(user.getUsername());
-                response.setEmail(user.getEmail());
+        readYourWritesTracker.readingProject(projectId);
+        return projectMemberMapper.selectMemberResponses(projectId);
+    }
+    
+    /**
+     * T005-03: Get list of project members, sharing one query between concurrent identical requests
+     * Requests for the same member list version that overlap run the query once and get the same
+     * unmodifiable list. Keying on the version means a request that read a newer version never
+     * gets a list queried before the change.
+     *
+     * @param version member list version the caller has read, null to always run its own query
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<MemberResponse> getProjectMembers(Long projectId, Long version) {
+        if (version == null) {
+            return getProjectMembers(projectId);
+        }
+        return requestCoalescer.execute(MemberListKey.all(projectId, version),
+                () -> Collections.unmodifiableList(getProjectMembers(projectId)));
+    }
+    
+    /**
+     * T005-03: Pass every member of a project to the sink, in member id order
+     * For exports of any size: rows are read in keyset chunks, each in its own short read-only
+     * scope, so the connection goes back to the pool while the sink writes to a slow client.
+     * Nothing is collected beyond one chunk. Chunks are separate reads, so a member added or
+     * removed during the export may or may not be included.
+     */
+    public void exportProjectMembers(Long projectId, Consumer<MemberResponse> sink) {
+        TransactionTemplate chunkScope = new TransactionTemplate(transactionManager);
+        chunkScope.setReadOnly(true);
+        chunkScope.setPropagationBehavior(TransactionDefinition.PROPAGATION_SUPPORTS);
+        int chunkSize = memberExportProperties.getChunkSize();
+        long afterId = 0;
+        List<MemberResponse> chunk;
+        do {
+            long after = afterId;
+            chunk = chunkScope.execute(status -> {
+                readYourWritesTracker.readingProject(projectId);
+                return projectMemberMapper.selectMemberResponsesAfter(projectId, after, chunkSize);
+            });
+            for (MemberResponse member : chunk) {
+                sink.accept(member);
+                afterId = member.getId();
             }
-            
-            return response;
-        }).collect(Collectors.toList());
+        } while (chunk.size() == chunkSize);
+    }
+    
+    /**
+     * T005-03: Get one page of project members, optionally filtered by role
+     * Uses keyset pagination on (joinedAt, id): the cursor of the last row seeds the next page
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public MemberPage getProjectMembersPage(Long projectId, MemberQuery query) {
+        int limit = query.getLimit() != null ? query.getLimit() : DEFAULT_PAGE_SIZE;
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        readYourWritesTracker.readingProject(projectId);
+        MemberCursor after = query.getCursor() != null ? MemberCursor.decode(query.getCursor()) : null;
+        
+        // Fetch one extra row to learn whether another page exists
+        List<MemberResponse> rows = projectMemberMapper.selectMemberPage(
+                projectId, query.getRole(), after, query.isDescending(), limit + 1);
+        if (rows.size() <= limit) {
+            return new MemberPage(rows, null);
+        }
+        List<MemberResponse> items = new ArrayList<>(rows.subList(0, limit));
+        return new MemberPage(items, MemberCursor.of(items.get(limit - 1)).encode());
+    }
+    
+    /**
+     * T005-03: Get one page of project members, sharing one query between concurrent identical requests
+     * Same as {@link #getProjectMembers(Long, Long)}, keyed on every page and filter parameter too.
+     *
+     * @param version member list version the caller has read, null to always run its own query
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public MemberPage getProjectMembersPage(Long projectId, MemberQuery query, Long version) {
+        if (version == null) {
+            return getProjectMembersPage(projectId, query);
+        }
+        return requestCoalescer.execute(MemberListKey.page(projectId, version, query), () -> {
+            MemberPage page = getProjectMembersPage(projectId, query);
+            return new MemberPage(Collections.unmodifiableList(page.getItems()), page.getNextCursor());
+        });
+    }
+    
+    /**
+     * AC2: Get one page of the projects a user is a member of, newest membership first
+     * The first page is cut from a per-user cache holding up to MAX_PAGE_SIZE projects, so a
+     * dashboard load costs no query while the user's memberships are unchanged. Later pages seek
+     * past the cursor's membership with one indexed query.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public UserProjectPage getUserProjects(Long userId, String cursor, Integer limit) {
+        int size = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        readYourWritesTracker.readingUser(userId);
+        
+        // Either way one row more than the page is read, to learn whether another page exists
+        List<UserProjectResponse> rows = cursor == null
+                ? userProjectsCache.get(userId, () -> projectMemberMapper.selectUserProjects(userId, null, MAX_PAGE_SIZE + 1))
+                : projectMemberMapper.selectUserProjects(userId, UserProjectCursor.decode(cursor).getMemberId(), size + 1);
+        if (rows.size() <= size) {
+            return new UserProjectPage(rows, null);
+        }
+        List<UserProjectResponse> items = new ArrayList<>(rows.subList(0, size));
+        return new UserProjectPage(items, UserProjectCursor.of(items.get(size - 1)).encode());
     }
     
     /**
      * T005-04: Remove a member from a project with permission check
+     * The owner-only, same-project and not-yourself rules are enforced by one conditional DELETE.
+     * The member row is read first, without locking, only for its user id (ids never move between
+     * projects or users), which the cache and index updates need. As in addMember the member list
+     * version is bumped before the DELETE, whose ownership check reads the project row, and is
+     * rolled back with the error when nothing was deleted. The error is worked out only then.
+     * A removal is logged for delta sync in the same transaction.
      */
     @Transactional
     public void removeMember(Long projectId, Long memberId, Long requestUserId) {
-        // Validate project exists
+        ProjectMember member = projectMemberMapper.selectById(memberId);
+        if (member != null && member.getProjectId().equals(projectId) && !member.getUserId().equals(requestUserId)
+                && projectMapper.incrementMemberVersion(projectId) == 1
+                && projectMemberMapper.deleteByOwner(projectId, memberId, requestUserId) == 1) {
+            projectMemberChangeMapper.insertChanges(List.of(
+                    ProjectMemberChange.of(member, ProjectMemberChange.Type.REMOVED, LocalDateTime.now())));
+            memberRemoved(projectId, member.getUserId());
+            return;
+        }
+        throw removalRejected(projectId, memberId, requestUserId, member);
+    }
+    
+    /**
+     * AC5: Check if a user is a member of a project
+     * Answered from the membership index or the membership cache when possible
+     */
+    public boolean isProjectMember(Long projectId, Long userId) {
+        if (membershipIndex.covers(projectId, userId)) {
+            return membershipIndex.contains(projectId, userId);
+        }
+        return membershipCache.get(projectId, userId, () -> {
+            QueryWrapper<ProjectMember> queryWrapper = new QueryWrapper<>();
+            queryWrapper.eq("project_id", projectId)
+                       .eq("user_id", userId);
+            ProjectMember member = projectMemberMapper.selectOne(queryWrapper);
+            return member != null;
+        });
+    }
+    
+    /**
+     * AC5: Check many (project, user) pairs at once
+     * Pairs covered by the membership index or the cache are answered from memory, all others
+     * are resolved with one indexed query and cached, negatives included.
+     */
+    public Map<MembershipKey, Boolean> checkMemberships(Collection<MembershipKey> keys) {
+        Map<MembershipKey, Boolean> results = new HashMap<>();
+        List<MembershipKey> uncovered = new ArrayList<>();
+        for (MembershipKey key : keys) {
+            if (membershipIndex.covers(key.projectId(), key.userId())) {
+                results.put(key, membershipIndex.contains(key.projectId(), key.userId()));
+            } else {
+                uncovered.add(key);
+            }
+        }
+        if (uncovered.isEmpty()) {
+            return results;
+        }
+        
+        results.putAll(membershipCache.getAll(uncovered, missing -> {
+            Map<MembershipKey, Boolean> loaded = new HashMap<>();
+            missing.forEach(key -> loaded.put(key, false));
+            projectMemberMapper.selectByProjectUserPairs(List.copyOf(missing))
+                    .forEach(member -> loaded.put(new MembershipKey(member.getProjectId(), member.getUserId()), true));
+            return loaded;
+        }));
+        return results;
+    }
+    
+    /**
+     * Message of the first constraint the request's role breaks, validated as @Valid does for a single add
+     */
+    private String roleViolation(AddMemberRequest request) {
+        return validator.validateProperty(request, "role").stream()
+                .map(ConstraintViolation::getMessage)
+                .findFirst()
+                .orElse(null);
+    }
+    
+    /**
+     * Explain a foreign key violation of a project_members insert whose project is known to exist,
+     * rethrowing the violation if the user exists as well
+     */
+    private IllegalArgumentException missingUser(Long userId, DataIntegrityViolationException violation) {
+        if (userMapper.selectById(userId) == null) {
+            return new IllegalArgumentException("User not found with id: " + userId);
+        }
+        throw violation;
+    }
+    
+    /**
+     * Batch variant of {@link #missingUser}, looking all users up with one query
+     */
+    private IllegalArgumentException missingUsers(List<Long> userIds, DataIntegrityViolationException violation) {
+        Set<Long> existing = userMapper.selectBatchIds(userIds).stream()
+                .map(User::getId)
+                .collect(Collectors.toSet());
+        for (Long userId : userIds) {
+            if (!existing.contains(userId)) {
+                return new IllegalArgumentException("User not found with id: " + userId);
+            }
+        }
+        throw violation;
+    }
+    
+    /**
+     * Explain why a member was not removed, checking the rules in the order callers have always seen them
+     */
+    private IllegalArgumentException removalRejected(Long projectId, Long memberId, Long requestUserId,
+                                                     ProjectMember member) {
         Project project = projectMapper.selectById(projectId);
         if (project == null) {
-            throw new IllegalArgumentException("Project not found with id: " + projectId);
+            return new IllegalArgumentException("Project not found with id: " + projectId);
         }
-        
-        // Check if requestUser is the project owner (AC4: only owner can remove)
         if (!project.getOwnerId().equals(requestUserId)) {
-            throw new IllegalArgumentException("Only project owner can remove members");
+            return new IllegalArgumentException("Only project owner can remove members");
         }
-        
-        // Validate member exists
-        ProjectMember member = projectMemberMapper.selectById(memberId);
         if (member == null) {
-            throw new IllegalArgumentException("Member not found with id: " + memberId);
+            return new IllegalArgumentException("Member not found with id: " + memberId);
         }
-        
-        // Check if member belongs to this project
         if (!member.getProjectId().equals(projectId)) {
-            throw new IllegalArgumentException("Member does not belong to this project");
+            return new IllegalArgumentException("Member does not belong to this project");
         }
-        
-        // AC4: Cannot remove yourself
         if (member.getUserId().equals(requestUserId)) {
-            throw new IllegalArgumentException("Cannot remove yourself from the project");
+            return new IllegalArgumentException("Cannot remove yourself from the project");
         }
-        
-        projectMemberMapper.deleteById(memberId);
+        return new IllegalArgumentException("Member not found with id: " + memberId); // Removed concurrently
     }
     
     /**
-     * AC5: Check if a user is a member of a project
+     * Write-through update of in-memory membership state after members were added
+     * The cache is invalidated once right away and once more after commit, so a concurrent
+     * check that re-reads the row before the commit becomes visible cannot leave a stale
+     * answer behind. The index only learns about committed changes. The users' project lists
+     * are invalidated the same way. Subscribers of the project's member events are told after commit.
      */
-    public boolean isProjectMember(Long projectId, Long userId) {
-        QueryWrapper<ProjectMember> queryWrapper = new QueryWrapper<>();
-        queryWrapper.eq("project_id", projectId)
-                   .eq("user_id", userId);
-        ProjectMember member = projectMemberMapper.selectOne(queryWrapper);
-        return member != null;
+    private void membersAdded(Long projectId, Collection<Long> userIds) {
+        userIds.forEach(userId -> invalidate(projectId, userId));
+        afterCommit(() -> {
+            membershipIndex.add(projectId, userIds);
+            userIds.forEach(userId -> invalidate(projectId, userId));
+            memberEventBroadcaster.publish(projectId, ProjectMemberChange.Type.ADDED, userIds.size());
+        });
+    }
+    
+    /**
+     * Write-through update of in-memory membership state after a member was removed
+     */
+    private void memberRemoved(Long projectId, Long userId) {
+        invalidate(projectId, userId);
+        afterCommit(() -> {
+            membershipIndex.remove(projectId, userId);
+            invalidate(projectId, userId);
+            memberEventBroadcaster.publish(projectId, ProjectMemberChange.Type.REMOVED, 1);
+        });
+    }
+    
+    private void invalidate(Long projectId, Long userId) {
+        membershipCache.invalidate(projectId, userId);
+        userProjectsCache.invalidate(userId);
+        readYourWritesTracker.recordWrite(projectId, userId);
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    /**
+     * Everything that determines the result of a member list read
+     */
+    private record MemberListKey(Long projectId, long version, boolean paged, String role, boolean descending,
+                                 String cursor, Integer limit) {
+        
+        static MemberListKey all(Long projectId, long version) {
+            return new MemberListKey(projectId, version, false, null, false, null, null);
+        }
+        
+        static MemberListKey page(Long projectId, long version, MemberQuery query) {
+            return new MemberListKey(projectId, version, true, query.getRole(), query.isDescending(),
+                    query.getCursor(), query.getLimit());
+        }
     }
 }
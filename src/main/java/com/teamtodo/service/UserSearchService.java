@@ -0,0 +1,69 @@
+package com.teamtodo.service;
+
+import com.teamtodo.cache.UserSearchIndex;
+import com.teamtodo.config.UserSearchProperties;
+import com.teamtodo.dto.UserSearchResult;
+import com.teamtodo.mapper.UserMapper;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Service for searching users to invite (AC1)
+ */
+@Service
+@Timed("teamtodo.service")
+public class UserSearchService {
+    
+    static final int MAX_QUERY_LENGTH = 100;
+    
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+    
+    @Autowired
+    private UserMapper userMapper;
+    
+    @Autowired
+    private UserSearchProperties properties;
+    
+    /**
+     * AC1: Search users by username or email prefix, best matches first
+     * Served from the in-memory index; falls back to an indexed LIKE 'q%' query until it is loaded.
+     */
+    public List<UserSearchResult> search(String query, Integer limit) {
+        String normalized = UserSearchIndex.normalize(query);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (normalized.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        int size = limit != null ? limit : properties.getDefaultLimit();
+        if (size < 1 || size > properties.getMaxLimit()) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + properties.getMaxLimit());
+        }
+        
+        if (userSearchIndex.isReady()) {
+            return userSearchIndex.search(normalized, size);
+        }
+        return userMapper.selectByPrefix(likePrefix(normalized), size).stream()
+                .map(user -> new UserSearchResult(user.getId(), user.getUsername(), user.getEmail()))
+                .toList();
+    }
+    
+    /**
+     * Escape LIKE wildcards in the query and turn it into a prefix pattern
+     */
+    private static String likePrefix(String query) {
+        StringBuilder pattern = new StringBuilder(query.length() + 1);
+        for (char c : query.toCharArray()) {
+            if (c == '\\' || c == '%' || c == '_') {
+                pattern.append('\\');
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
@@ -0,0 +1,5 @@
+-- Upgrade a database created before projects.member_version existed
+-- The member list ETag starts at version 0 for every project
+USE teamtodo;
+
+ALTER TABLE projects ADD COLUMN member_version BIGINT NOT NULL DEFAULT 0 AFTER owner_id;
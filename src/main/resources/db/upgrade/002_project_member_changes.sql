@@ -0,0 +1,17 @@
+-- Upgrade a database created before the membership change log existed
+-- Clients syncing from a version older than the first logged change get a full snapshot
+USE teamtodo;
+
+CREATE TABLE IF NOT EXISTS project_member_changes (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    project_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    change_type VARCHAR(10) NOT NULL,
+    member_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    role VARCHAR(20) NOT NULL,
+    changed_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_project_version (project_id, version),
+    INDEX idx_changed_at (changed_at),
+    FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
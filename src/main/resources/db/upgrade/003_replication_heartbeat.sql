@@ -0,0 +1,8 @@
+-- Upgrade a database created before read replica routing existed
+-- Only needed when teamtodo.read-replicas is enabled, run it on the primary
+USE teamtodo;
+
+CREATE TABLE IF NOT EXISTS replication_heartbeat (
+    id INT PRIMARY KEY,
+    beat_at DATETIME(3) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,9 @@
+-- Upgrade a database created before keyset pagination of the member list existed
+-- The (joined_at, id) cursor needs joined_at on every row, rows without one get the current time
+USE teamtodo;
+
+UPDATE project_members SET joined_at = CURRENT_TIMESTAMP WHERE joined_at IS NULL;
+
+ALTER TABLE project_members
+    MODIFY COLUMN joined_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    ADD INDEX idx_project_joined_at (project_id, joined_at);
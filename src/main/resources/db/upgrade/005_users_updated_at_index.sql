@@ -0,0 +1,5 @@
+-- Upgrade a database created before the user search index existed
+-- The search index polls users changed since its last refresh through updated_at
+USE teamtodo;
+
+ALTER TABLE users ADD INDEX idx_updated_at (updated_at);
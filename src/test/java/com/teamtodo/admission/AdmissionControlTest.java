@@ -0,0 +1,157 @@
+package com.teamtodo.admission;
+
+import com.teamtodo.config.AdmissionControlProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.validation.BindValidationException;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.NestedExceptionUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AdmissionControl
+ */
+class AdmissionControlTest {
+    
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    
+    @Test
+    void testAdmit_BurstThenRate() {
+        // Arrange
+        AdmissionControl admissionControl = admissionControl(10, 3, 100);
+        
+        // Act
+        for (int i = 0; i < 3; i++) {
+            assertEquals(AdmissionControl.Outcome.ADMITTED, admit(admissionControl, "caller").outcome());
+        }
+        AdmissionControl.Decision limited = admit(admissionControl, "caller");
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        AdmissionControl.Decision refilled = admit(admissionControl, "caller");
+        
+        // Assert
+        assertEquals(AdmissionControl.Outcome.RATE_LIMITED, limited.outcome());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limited.retryAfterNanos());
+        assertEquals(AdmissionControl.Outcome.ADMITTED, refilled.outcome());
+        assertEquals(4, registry.get("teamtodo.admission.requests").tag("outcome", "admitted").counter().count());
+        assertEquals(1, registry.get("teamtodo.admission.requests").tag("outcome", "rate_limited").counter().count());
+    }
+    
+    @Test
+    void testAdmit_CallersAndEndpointsHaveOwnBuckets() {
+        // Arrange
+        AdmissionControl admissionControl = admissionControl(1, 1, 100);
+        admit(admissionControl, "a");
+        
+        // Act & Assert
+        assertEquals(AdmissionControl.Outcome.RATE_LIMITED, admit(admissionControl, "a").outcome());
+        assertEquals(AdmissionControl.Outcome.ADMITTED, admit(admissionControl, "b").outcome());
+        assertEquals(AdmissionControl.Outcome.ADMITTED, admissionControl.admit("remove", "a").outcome());
+    }
+    
+    @Test
+    void testAdmit_ShedsWhenAllSlotsTaken() {
+        // Arrange
+        AdmissionControl admissionControl = admissionControl(1000, 1000, 2);
+        admit(admissionControl, "a");
+        admit(admissionControl, "b");
+        
+        // Act
+        AdmissionControl.Decision shed = admit(admissionControl, "c");
+        admissionControl.release();
+        AdmissionControl.Decision admitted = admit(admissionControl, "c");
+        
+        // Assert
+        assertEquals(AdmissionControl.Outcome.SHED, shed.outcome());
+        assertEquals(AdmissionControl.Outcome.ADMITTED, admitted.outcome());
+        assertEquals(2, admissionControl.inFlight());
+        assertEquals(2, registry.get("teamtodo.admission.in_flight").gauge().value());
+        assertEquals(1, registry.get("teamtodo.admission.requests").tag("outcome", "shed").counter().count());
+    }
+    
+    @Test
+    void testAdmitExport_OwnPermits() {
+        // Arrange
+        AdmissionControl admissionControl = admissionControl(1000, 1000, 1);
+        admit(admissionControl, "a");
+        
+        // Act
+        boolean first = admissionControl.admitExport();
+        boolean second = admissionControl.admitExport();
+        boolean third = admissionControl.admitExport();
+        admissionControl.releaseExport();
+        boolean afterRelease = admissionControl.admitExport();
+        
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertTrue(afterRelease);
+        assertEquals(2, admissionControl.exportsInFlight());
+        assertEquals(1, admissionControl.inFlight());
+        assertEquals(1, registry.get("teamtodo.admission.requests").tags("endpoint", "export", "outcome", "shed")
+                .counter().count());
+    }
+    
+    @Test
+    void testAdmit_ConcurrentCallersNeverExceedBurst() throws InterruptedException {
+        // Arrange
+        AdmissionControl admissionControl = admissionControl(1, 50, 1000);
+        AtomicLong admitted = new AtomicLong();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    if (admit(admissionControl, "caller").outcome() == AdmissionControl.Outcome.ADMITTED) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        
+        // Act
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        // Assert
+        assertEquals(50, admitted.get());
+    }
+    
+    @Test
+    void testProperties_ZeroRateRejected() {
+        // Arrange
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withUserConfiguration(PropertiesConfig.class)
+                .withPropertyValues("teamtodo.admission-control.rate-limits.check.permits-per-second=0");
+        
+        // Act & Assert
+        runner.run(context -> assertInstanceOf(BindValidationException.class,
+                NestedExceptionUtils.getMostSpecificCause(context.getStartupFailure())));
+    }
+    
+    private AdmissionControl admissionControl(double permitsPerSecond, int burst, int maxConcurrent) {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.setRateLimits(Map.of("check", AdmissionControlProperties.RateLimit.of(permitsPerSecond, burst)));
+        properties.setMaxConcurrent(maxConcurrent);
+        return new AdmissionControl(properties, registry, clock::get);
+    }
+    
+    private static AdmissionControl.Decision admit(AdmissionControl admissionControl, String caller) {
+        return admissionControl.admit("check", caller);
+    }
+    
+    @EnableConfigurationProperties(AdmissionControlProperties.class)
+    static class PropertiesConfig {
+    }
+}
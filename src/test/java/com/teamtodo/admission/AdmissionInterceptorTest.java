@@ -0,0 +1,178 @@
+package com.teamtodo.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teamtodo.config.AdmissionControlProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AdmissionInterceptor
+ */
+class AdmissionInterceptorTest {
+    
+    private final AdmissionControlProperties properties = new AdmissionControlProperties();
+    
+    @Test
+    void testPreHandle_RateLimitedCallerGets429() throws Exception {
+        // Arrange
+        properties.setRateLimits(Map.of("check", AdmissionControlProperties.RateLimit.of(0.5, 1)));
+        AdmissionInterceptor interceptor = interceptor();
+        complete(interceptor, request("X-Caller-Id", "integration"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        
+        // Act
+        boolean proceed = interceptor.preHandle(request("X-Caller-Id", "integration"), response, handler("check"));
+        
+        // Assert
+        assertFalse(proceed);
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertEquals("{\"error\":\"Too many requests, retry later\"}", response.getContentAsString());
+        assertTrue(interceptor.preHandle(request("X-Caller-Id", "other"), new MockHttpServletResponse(), handler("check")));
+    }
+    
+    @Test
+    void testPreHandle_ShedsWith503UntilCompletion() throws Exception {
+        // Arrange
+        properties.setMaxConcurrent(1);
+        AdmissionInterceptor interceptor = interceptor();
+        MockHttpServletRequest running = request("X-Caller-Id", "a");
+        assertTrue(interceptor.preHandle(running, new MockHttpServletResponse(), handler("remove")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        
+        // Act
+        boolean shed = interceptor.preHandle(request("X-Caller-Id", "b"), response, handler("remove"));
+        interceptor.afterCompletion(running, new MockHttpServletResponse(), handler("remove"), null);
+        boolean admitted = interceptor.preHandle(request("X-Caller-Id", "b"), new MockHttpServletResponse(), handler("remove"));
+        
+        // Assert
+        assertFalse(shed);
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(admitted);
+    }
+    
+    @Test
+    void testPreHandle_CallerFromRequestUserId() throws Exception {
+        // Arrange
+        properties.setRateLimits(Map.of("check", AdmissionControlProperties.RateLimit.of(1, 1)));
+        AdmissionInterceptor interceptor = interceptor();
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        first.setParameter("requestUserId", "7");
+        complete(interceptor, first);
+        MockHttpServletRequest sameUser = new MockHttpServletRequest();
+        sameUser.setParameter("requestUserId", "7");
+        MockHttpServletRequest otherUser = new MockHttpServletRequest();
+        otherUser.setParameter("requestUserId", "8");
+        
+        // Act & Assert
+        assertFalse(interceptor.preHandle(sameUser, new MockHttpServletResponse(), handler("check")));
+        assertTrue(interceptor.preHandle(otherUser, new MockHttpServletResponse(), handler("check")));
+    }
+    
+    @Test
+    void testPreHandle_AnonymousFloodRateLimitedByAddress() throws Exception {
+        // Arrange
+        properties.setRateLimits(Map.of("check", AdmissionControlProperties.RateLimit.of(1, 2)));
+        AdmissionInterceptor interceptor = interceptor();
+        complete(interceptor, anonymous("203.0.113.7"));
+        complete(interceptor, anonymous("203.0.113.7"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        
+        // Act
+        boolean proceed = interceptor.preHandle(anonymous("203.0.113.7"), response, handler("check"));
+        
+        // Assert
+        assertFalse(proceed);
+        assertEquals(429, response.getStatus());
+        assertTrue(interceptor.preHandle(anonymous("203.0.113.8"), new MockHttpServletResponse(), handler("check")));
+    }
+    
+    @Test
+    void testPreHandle_ForwardedForOnlyHonouredFromTrustedProxy() throws Exception {
+        // Arrange
+        properties.setRateLimits(Map.of("check", AdmissionControlProperties.RateLimit.of(1, 1)));
+        properties.setTrustedProxies(List.of("10.0.0.2", "10.0.0.3"));
+        AdmissionInterceptor interceptor = interceptor();
+        complete(interceptor, forwarded("10.0.0.2", "198.51.100.1, 10.0.0.3"));
+        
+        // Act & Assert
+        assertFalse(interceptor.preHandle(forwarded("10.0.0.2", "198.51.100.1"),
+                new MockHttpServletResponse(), handler("check"))); // Same client through a trusted proxy
+        assertTrue(interceptor.preHandle(forwarded("10.0.0.2", "198.51.100.1, 198.51.100.2"),
+                new MockHttpServletResponse(), handler("check"))); // Spoofed first hop is ignored
+        assertTrue(interceptor.preHandle(forwarded("203.0.113.9", "198.51.100.1"),
+                new MockHttpServletResponse(), handler("check"))); // Untrusted sender keys on its own address
+        assertFalse(interceptor.preHandle(forwarded("203.0.113.9", "198.51.100.3"),
+                new MockHttpServletResponse(), handler("check")));
+    }
+    
+    @Test
+    void testPreHandle_DisabledOrUnmarkedHandlersPass() throws Exception {
+        // Arrange
+        properties.setMaxConcurrent(0);
+        AdmissionInterceptor interceptor = interceptor();
+        HandlerMethod unmarked = new HandlerMethod(new Handlers(), "unmarked");
+        
+        // Act & Assert
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), unmarked));
+        assertFalse(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler("remove")));
+        properties.setEnabled(false);
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler("remove")));
+    }
+    
+    private AdmissionInterceptor interceptor() {
+        AdmissionControl admissionControl = new AdmissionControl(properties, new SimpleMeterRegistry());
+        return new AdmissionInterceptor(admissionControl, new ObjectMapper(), properties.getCallerHeader(),
+                properties.getTrustedProxies());
+    }
+    
+    private static void complete(AdmissionInterceptor interceptor, MockHttpServletRequest request) throws Exception {
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), handler("check")));
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), handler("check"), null);
+    }
+    
+    private static MockHttpServletRequest request(String header, String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(header, value);
+        return request;
+    }
+    
+    private static MockHttpServletRequest anonymous(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+    
+    private static MockHttpServletRequest forwarded(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = anonymous(remoteAddr);
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        return request;
+    }
+    
+    private static HandlerMethod handler(String endpoint) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), endpoint);
+    }
+    
+    static class Handlers {
+        
+        @AdmissionControlled("check")
+        public void check() {
+        }
+        
+        @AdmissionControlled("remove")
+        public void remove() {
+        }
+        
+        public void unmarked() {
+        }
+    }
+}
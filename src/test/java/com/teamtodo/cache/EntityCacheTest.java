@@ -0,0 +1,116 @@
+package com.teamtodo.cache;
+
+import com.teamtodo.config.EntityCacheProperties;
+import com.teamtodo.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for EntityCache
+ */
+class EntityCacheTest {
+    
+    @Test
+    void testGetUsers_LoadsOnlyMissesInOneCall() {
+        // Arrange
+        EntityCache cache = new EntityCache(new EntityCacheProperties());
+        List<Set<? extends Long>> loaded = new ArrayList<>();
+        
+        // Act
+        cache.getUsers(List.of(1L, 2L), missing -> users(missing, loaded));
+        Map<Long, User> result = cache.getUsers(List.of(1L, 2L, 3L, 999L), missing -> users(missing, loaded));
+        
+        // Assert
+        assertEquals(Set.of(1L, 2L, 3L), result.keySet());
+        assertEquals(List.of(Set.of(1L, 2L), Set.of(3L, 999L)), loaded);
+    }
+    
+    @Test
+    void testInvalidateUsers_ReloadsThem() {
+        // Arrange
+        EntityCache cache = new EntityCache(new EntityCacheProperties());
+        List<Set<? extends Long>> loaded = new ArrayList<>();
+        cache.getUsers(List.of(1L, 2L), missing -> users(missing, loaded));
+        
+        // Act
+        cache.invalidateUsers(List.of(2L));
+        cache.getUsers(List.of(1L, 2L), missing -> users(missing, loaded));
+        
+        // Assert
+        assertEquals(List.of(Set.of(1L, 2L), Set.of(2L)), loaded);
+    }
+    
+    @Test
+    void testGetUsers_MissingUsersNotCached() {
+        // Arrange
+        EntityCache cache = new EntityCache(new EntityCacheProperties());
+        List<Set<? extends Long>> loaded = new ArrayList<>();
+        
+        // Act
+        cache.getUsers(List.of(999L), missing -> users(missing, loaded));
+        Map<Long, User> result = cache.getUsers(List.of(999L), missing -> users(missing, loaded));
+        
+        // Assert
+        assertTrue(result.isEmpty());
+        assertEquals(List.of(Set.of(999L), Set.of(999L)), loaded);
+    }
+    
+    @Test
+    void testDisabled_AlwaysLoads() {
+        // Arrange
+        EntityCacheProperties properties = new EntityCacheProperties();
+        properties.setEnabled(false);
+        EntityCache cache = new EntityCache(properties);
+        List<Set<? extends Long>> loaded = new ArrayList<>();
+        
+        // Act
+        cache.getUsers(List.of(1L), missing -> users(missing, loaded));
+        cache.getUsers(List.of(1L), missing -> users(missing, loaded));
+        
+        // Assert
+        assertEquals(2, loaded.size());
+    }
+    
+    @Test
+    void testBindTo_PublishesHitRate() {
+        // Arrange
+        EntityCache cache = new EntityCache(new EntityCacheProperties());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        List<Set<? extends Long>> loaded = new ArrayList<>();
+        
+        // Act
+        cache.getUsers(List.of(1L), missing -> users(missing, loaded));
+        cache.getUsers(List.of(1L), missing -> users(missing, loaded));
+        
+        // Assert
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "users").tag("result", "miss")
+                .functionCounter().count());
+    }
+    
+    /**
+     * Users exist for ids below 100
+     */
+    private static Map<Long, User> users(Set<? extends Long> ids, List<Set<? extends Long>> loaded) {
+        loaded.add(Set.copyOf(ids));
+        Map<Long, User> users = new HashMap<>();
+        for (Long id : ids) {
+            if (id < 100) {
+                User user = new User();
+                user.setId(id);
+                users.put(id, user);
+            }
+        }
+        return users;
+    }
+}
@@ -0,0 +1,170 @@
+package com.teamtodo.cache;
+
+import com.teamtodo.config.MembershipCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for MembershipCache
+ */
+class MembershipCacheTest {
+    
+    @Test
+    void testGet_LoadsOncePerKey() {
+        // Arrange
+        MembershipCache cache = new MembershipCache(new MembershipCacheProperties());
+        AtomicInteger loads = new AtomicInteger();
+        
+        // Act
+        cache.get(1L, 2L, () -> loads.incrementAndGet() > 0);
+        cache.get(1L, 2L, () -> loads.incrementAndGet() > 0);
+        cache.get(1L, 3L, () -> loads.incrementAndGet() > 0);
+        
+        // Assert
+        assertEquals(2, loads.get());
+    }
+    
+    @Test
+    void testGet_ConcurrentMissesShareOneLoad() throws Exception {
+        // Arrange
+        MembershipCache cache = new MembershipCache(new MembershipCacheProperties());
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> cache.get(1L, 2L, () -> {
+            loads.incrementAndGet();
+            loaderStarted.countDown();
+            await(releaseLoader);
+            return true;
+        }));
+        assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+        
+        // Act
+        CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(() -> cache.get(1L, 2L, () -> {
+            loads.incrementAndGet();
+            return false;
+        }));
+        releaseLoader.countDown();
+        
+        // Assert
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+    
+    @Test
+    void testGet_LoaderFailureIsRethrownAndNotCached() {
+        // Arrange
+        MembershipCache cache = new MembershipCache(new MembershipCacheProperties());
+        
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> cache.get(1L, 2L, () -> {
+            throw new IllegalStateException("database down");
+        }));
+        assertTrue(cache.get(1L, 2L, () -> true));
+    }
+    
+    @Test
+    void testInvalidate_ForcesReload() {
+        // Arrange
+        MembershipCache cache = new MembershipCache(new MembershipCacheProperties());
+        cache.get(1L, 2L, () -> false);
+        
+        // Act
+        cache.invalidate(1L, 2L);
+        
+        // Assert
+        assertTrue(cache.get(1L, 2L, () -> true));
+    }
+    
+    @Test
+    void testGetAll_LoadsOnlyMisses() {
+        // Arrange
+        MembershipCache cache = new MembershipCache(new MembershipCacheProperties());
+        cache.get(1L, 2L, () -> true);
+        List<Set<? extends MembershipKey>> loads = new ArrayList<>();
+        
+        // Act
+        Map<MembershipKey, Boolean> answers = cache.getAll(
+                List.of(new MembershipKey(1L, 2L), new MembershipKey(1L, 3L)),
+                missing -> {
+                    loads.add(Set.copyOf(missing));
+                    return Map.of(new MembershipKey(1L, 3L), false);
+                });
+        
+        // Assert
+        assertEquals(Map.of(new MembershipKey(1L, 2L), true, new MembershipKey(1L, 3L), false), answers);
+        assertEquals(List.of(Set.of(new MembershipKey(1L, 3L))), loads);
+        assertFalse(cache.get(1L, 3L, () -> true));
+    }
+    
+    @Test
+    void testGetAll_InvalidationDuringLoadIsNotOverwritten() {
+        // Arrange
+        MembershipCache cache = new MembershipCache(new MembershipCacheProperties());
+        MembershipKey key = new MembershipKey(1L, 2L);
+        
+        // Act: the member is removed and invalidated after the bulk load read it as a member
+        Map<MembershipKey, Boolean> answers = cache.getAll(List.of(key), missing -> {
+            cache.invalidate(1L, 2L);
+            return Map.of(key, true);
+        });
+        
+        // Assert
+        assertTrue(answers.get(key));
+        assertFalse(cache.get(1L, 2L, () -> false));
+    }
+    
+    @Test
+    void testDisabled_AlwaysLoads() {
+        // Arrange
+        MembershipCacheProperties properties = new MembershipCacheProperties();
+        properties.setEnabled(false);
+        MembershipCache cache = new MembershipCache(properties);
+        AtomicInteger loads = new AtomicInteger();
+        
+        // Act
+        cache.get(1L, 2L, () -> loads.incrementAndGet() > 0);
+        cache.get(1L, 2L, () -> loads.incrementAndGet() > 0);
+        
+        // Assert
+        assertEquals(2, loads.get());
+    }
+    
+    @Test
+    void testBindTo_PublishesHitAndMissCounts() {
+        // Arrange
+        MembershipCache cache = new MembershipCache(new MembershipCacheProperties());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        
+        // Act
+        cache.get(1L, 2L, () -> true);
+        cache.get(1L, 2L, () -> true);
+        
+        // Assert
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "membership", "result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "membership", "result", "miss")
+                .functionCounter().count());
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
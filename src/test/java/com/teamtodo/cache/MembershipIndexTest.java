@@ -0,0 +1,202 @@
+package com.teamtodo.cache;
+
+import com.teamtodo.config.MembershipIndexProperties;
+import com.teamtodo.entity.ProjectMember;
+import com.teamtodo.mapper.ProjectMemberMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for MembershipIndex
+ */
+@ExtendWith(MockitoExtension.class)
+class MembershipIndexTest {
+    
+    @Mock
+    private ProjectMemberMapper projectMemberMapper;
+    
+    private MembershipIndexProperties properties;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new MembershipIndexProperties();
+        properties.setEnabled(true);
+        properties.setLoadBatchSize(2);
+    }
+    
+    @Test
+    void testRebuild_LoadsAllChunks() {
+        // Arrange
+        MembershipIndex index = new MembershipIndex(properties, projectMemberMapper, new SyncTaskExecutor());
+        when(projectMemberMapper.selectMembershipChunk(0L, 2)).thenReturn(List.of(member(1L, 1L, 10L), member(2L, 1L, 11L)));
+        when(projectMemberMapper.selectMembershipChunk(2L, 2)).thenReturn(List.of(member(3L, 2L, 10L)));
+        
+        // Act
+        assertFalse(index.covers(1L, 10L));
+        index.buildOnStartup();
+        
+        // Assert
+        assertTrue(index.covers(1L, 10L));
+        assertTrue(index.contains(1L, 10L));
+        assertTrue(index.contains(1L, 11L));
+        assertTrue(index.contains(2L, 10L));
+        assertFalse(index.contains(2L, 11L));
+        assertFalse(index.contains(3L, 10L));
+        verify(projectMemberMapper, times(2)).selectMembershipChunk(anyLong(), anyInt());
+    }
+    
+    @Test
+    void testAddAndRemove_AfterBuild() {
+        // Arrange
+        properties.setOffHeap(true);
+        MembershipIndex index = new MembershipIndex(properties, projectMemberMapper, new SyncTaskExecutor());
+        when(projectMemberMapper.selectMembershipChunk(eq(0L), anyInt())).thenReturn(List.of(member(1L, 1L, 10L)));
+        index.rebuild();
+        
+        // Act
+        index.add(1L, List.of(12L, 13L));
+        index.remove(1L, 10L);
+        
+        // Assert
+        assertFalse(index.contains(1L, 10L));
+        assertTrue(index.contains(1L, 12L));
+        assertTrue(index.contains(1L, 13L));
+        
+        MembershipIndex.Report report = index.report();
+        assertTrue(report.ready());
+        assertTrue(report.offHeap());
+        assertEquals(1, report.projects());
+        assertEquals(2, report.members());
+        assertEquals(2, index.report(1L).members());
+        assertNull(index.report(99L));
+    }
+    
+    @Test
+    void testAddAndRemove_MergedIntoFrozenBitmapPastMaxPendingChanges() {
+        // Arrange
+        properties.setMaxPendingChanges(2);
+        MembershipIndex index = new MembershipIndex(properties, projectMemberMapper, new SyncTaskExecutor());
+        when(projectMemberMapper.selectMembershipChunk(eq(0L), anyInt())).thenReturn(List.of(member(1L, 1L, 10L)));
+        index.rebuild();
+        
+        // Act
+        index.add(1L, List.of(11L, 12L));
+        index.remove(1L, 10L); // Third change, merged
+        index.add(1L, List.of(13L));
+        
+        // Assert
+        assertFalse(index.contains(1L, 10L));
+        assertTrue(index.contains(1L, 11L));
+        assertTrue(index.contains(1L, 12L));
+        assertTrue(index.contains(1L, 13L));
+        assertEquals(3, index.report(1L).members());
+    }
+    
+    @Test
+    void testAddAndRemove_ConcurrentWritersLoseNoChanges() throws Exception {
+        // Arrange
+        properties.setMaxPendingChanges(16);
+        MembershipIndex index = new MembershipIndex(properties, projectMemberMapper, new SyncTaskExecutor());
+        when(projectMemberMapper.selectMembershipChunk(anyLong(), anyInt())).thenReturn(List.of());
+        index.rebuild();
+        int writers = 8;
+        int usersPerWriter = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        
+        // Act
+        for (int writer = 0; writer < writers; writer++) {
+            long firstUserId = (long) writer * usersPerWriter;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (long userId = firstUserId; userId < firstUserId + usersPerWriter; userId++) {
+                    index.add(userId % 2, List.of(userId));
+                    if (userId % 5 == 0) {
+                        index.remove(userId % 2, userId);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        
+        // Assert
+        for (long userId = 0; userId < (long) writers * usersPerWriter; userId++) {
+            assertEquals(userId % 5 != 0, index.contains(userId % 2, userId), "user " + userId);
+        }
+        assertEquals(writers * usersPerWriter * 4 / 5, index.report().members());
+    }
+    
+    @Test
+    void testRebuild_ReplaysChangesMadeDuringLoad() {
+        // Arrange
+        MembershipIndex index = new MembershipIndex(properties, projectMemberMapper, new SyncTaskExecutor());
+        when(projectMemberMapper.selectMembershipChunk(eq(0L), anyInt())).thenAnswer(invocation -> {
+            // Member 10 is removed after the loader has already read its row
+            index.remove(1L, 10L);
+            return List.of(member(1L, 1L, 10L));
+        });
+        
+        // Act
+        index.rebuild();
+        
+        // Assert
+        assertFalse(index.contains(1L, 10L));
+    }
+    
+    @Test
+    void testRebuild_FailureKeepsIndexUnready() {
+        // Arrange
+        MembershipIndex index = new MembershipIndex(properties, projectMemberMapper, new SyncTaskExecutor());
+        when(projectMemberMapper.selectMembershipChunk(anyLong(), anyInt())).thenThrow(new IllegalStateException("down"));
+        
+        // Act
+        index.rebuild();
+        
+        // Assert
+        assertFalse(index.covers(1L, 10L));
+    }
+    
+    @Test
+    void testCovers_UserIdOutsideBitmapRange() {
+        // Arrange
+        MembershipIndex index = new MembershipIndex(properties, projectMemberMapper, new SyncTaskExecutor());
+        when(projectMemberMapper.selectMembershipChunk(anyLong(), anyInt())).thenReturn(List.of());
+        index.rebuild();
+        
+        // Assert
+        assertTrue(index.covers(1L, 0xFFFFFFFFL));
+        assertFalse(index.covers(1L, 0x100000000L));
+    }
+    
+    private static ProjectMember member(Long id, Long projectId, Long userId) {
+        ProjectMember member = new ProjectMember();
+        member.setId(id);
+        member.setProjectId(projectId);
+        member.setUserId(userId);
+        return member;
+    }
+}
@@ -0,0 +1,168 @@
+package com.teamtodo.cache;
+
+import com.teamtodo.config.RequestCoalescingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RequestCoalescer
+ */
+class RequestCoalescerTest {
+    
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    
+    @Test
+    void testExecute_ConcurrentCallsShareOneRead() throws Exception {
+        // Arrange
+        RequestCoalescer coalescer = new RequestCoalescer(new RequestCoalescingProperties(), registry);
+        AtomicInteger reads = new AtomicInteger();
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch releaseRead = new CountDownLatch(1);
+        CompletableFuture<List<String>> leader = CompletableFuture.supplyAsync(() -> coalescer.execute("members:1", () -> {
+            reads.incrementAndGet();
+            readStarted.countDown();
+            await(releaseRead);
+            return List.of("owner", "member");
+        }));
+        assertTrue(readStarted.await(5, TimeUnit.SECONDS));
+        
+        // Act
+        CompletableFuture<List<String>> follower = new CompletableFuture<>();
+        Thread thread = new Thread(() -> follower.complete(coalescer.execute("members:1", () -> {
+            reads.incrementAndGet();
+            return List.of();
+        })));
+        thread.start();
+        awaitWaiting(thread);
+        releaseRead.countDown();
+        
+        // Assert
+        assertSame(leader.get(5, TimeUnit.SECONDS), follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, reads.get());
+        assertEquals(1.0, count("executed"));
+        assertEquals(1.0, count("collapsed"));
+    }
+    
+    @Test
+    void testExecute_SequentialCallsReadAgain() {
+        // Arrange
+        RequestCoalescer coalescer = new RequestCoalescer(new RequestCoalescingProperties(), registry);
+        AtomicInteger reads = new AtomicInteger();
+        
+        // Act
+        coalescer.execute("members:1", reads::incrementAndGet);
+        coalescer.execute("members:1", reads::incrementAndGet);
+        
+        // Assert
+        assertEquals(2, reads.get());
+        assertEquals(2.0, count("executed"));
+    }
+    
+    @Test
+    void testExecute_FollowerTimesOutAndReadsItself() throws Exception {
+        // Arrange
+        RequestCoalescingProperties properties = new RequestCoalescingProperties();
+        properties.setTimeout(Duration.ofMillis(50));
+        RequestCoalescer coalescer = new RequestCoalescer(properties, registry);
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch releaseRead = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> coalescer.execute("members:1", () -> {
+            readStarted.countDown();
+            await(releaseRead);
+            return "slow";
+        }));
+        assertTrue(readStarted.await(5, TimeUnit.SECONDS));
+        
+        // Act
+        String result = coalescer.execute("members:1", () -> "own");
+        releaseRead.countDown();
+        
+        // Assert
+        assertEquals("own", result);
+        assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, count("timed_out"));
+    }
+    
+    @Test
+    void testExecute_FailureIsSharedWithWaitingCallers() throws Exception {
+        // Arrange
+        RequestCoalescer coalescer = new RequestCoalescer(new RequestCoalescingProperties(), registry);
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch releaseRead = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> coalescer.execute("members:1", () -> {
+            readStarted.countDown();
+            await(releaseRead);
+            throw new IllegalArgumentException("Project not found with id: 1");
+        }));
+        assertTrue(readStarted.await(5, TimeUnit.SECONDS));
+        
+        // Act
+        CompletableFuture<Throwable> follower = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                coalescer.execute("members:1", () -> "unexpected");
+                follower.complete(null);
+            } catch (RuntimeException e) {
+                follower.complete(e);
+            }
+        });
+        thread.start();
+        awaitWaiting(thread);
+        releaseRead.countDown();
+        
+        // Assert
+        Throwable failure = follower.get(5, TimeUnit.SECONDS);
+        assertInstanceOf(IllegalArgumentException.class, failure);
+        assertEquals("Project not found with id: 1", failure.getMessage());
+        assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    void testExecute_DisabledAlwaysReads() {
+        // Arrange
+        RequestCoalescingProperties properties = new RequestCoalescingProperties();
+        properties.setEnabled(false);
+        RequestCoalescer coalescer = new RequestCoalescer(properties, registry);
+        AtomicInteger reads = new AtomicInteger();
+        
+        // Act
+        coalescer.execute("members:1", reads::incrementAndGet);
+        
+        // Assert
+        assertEquals(1, reads.get());
+        assertEquals(0.0, count("executed"));
+    }
+    
+    private double count(String outcome) {
+        return registry.get("teamtodo.coalescing.requests").tag("outcome", outcome).counter().count();
+    }
+    
+    /**
+     * Wait until the thread is blocked on the read it joined
+     */
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.TIMED_WAITING) {
+            assertTrue(System.nanoTime() < deadline, "Caller never started waiting");
+            Thread.sleep(1);
+        }
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
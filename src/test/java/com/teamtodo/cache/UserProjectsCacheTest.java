@@ -0,0 +1,70 @@
+package com.teamtodo.cache;
+
+import com.teamtodo.config.UserProjectsCacheProperties;
+import com.teamtodo.dto.UserProjectResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for UserProjectsCache
+ */
+class UserProjectsCacheTest {
+    
+    @Test
+    void testGet_LoadsOncePerUserUntilInvalidated() {
+        // Arrange
+        UserProjectsCache cache = new UserProjectsCache(new UserProjectsCacheProperties());
+        AtomicInteger loads = new AtomicInteger();
+        
+        // Act
+        cache.get(2L, () -> load(loads));
+        cache.get(2L, () -> load(loads));
+        cache.get(3L, () -> load(loads));
+        cache.invalidate(2L);
+        cache.get(2L, () -> load(loads));
+        
+        // Assert
+        assertEquals(3, loads.get());
+    }
+    
+    @Test
+    void testGet_ReturnsUnmodifiableCopy() {
+        // Arrange
+        UserProjectsCache cache = new UserProjectsCache(new UserProjectsCacheProperties());
+        List<UserProjectResponse> loaded = new ArrayList<>(List.of(new UserProjectResponse()));
+        
+        // Act
+        List<UserProjectResponse> cached = cache.get(2L, () -> loaded);
+        loaded.clear();
+        
+        // Assert
+        assertEquals(1, cache.get(2L, List::of).size());
+        assertThrows(UnsupportedOperationException.class, () -> cached.add(new UserProjectResponse()));
+    }
+    
+    @Test
+    void testGet_DisabledAlwaysLoads() {
+        // Arrange
+        UserProjectsCacheProperties properties = new UserProjectsCacheProperties();
+        properties.setEnabled(false);
+        UserProjectsCache cache = new UserProjectsCache(properties);
+        AtomicInteger loads = new AtomicInteger();
+        
+        // Act
+        cache.get(2L, () -> load(loads));
+        cache.get(2L, () -> load(loads));
+        
+        // Assert
+        assertEquals(2, loads.get());
+    }
+    
+    private static List<UserProjectResponse> load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return List.of();
+    }
+}
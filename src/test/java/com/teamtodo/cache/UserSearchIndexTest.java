@@ -0,0 +1,139 @@
+package com.teamtodo.cache;
+
+import com.teamtodo.config.UserSearchProperties;
+import com.teamtodo.dto.UserSearchResult;
+import com.teamtodo.entity.User;
+import com.teamtodo.mapper.UserMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for UserSearchIndex
+ */
+@ExtendWith(MockitoExtension.class)
+class UserSearchIndexTest {
+    
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 30, 15, 0);
+    
+    @Mock
+    private UserMapper userMapper;
+    
+    private UserSearchProperties properties;
+    
+    private UserSearchIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new UserSearchProperties();
+        index = new UserSearchIndex(properties, userMapper, new SyncTaskExecutor());
+    }
+    
+    @Test
+    void testSearch_RanksExactThenUsernameThenEmailThenWordMatches() {
+        // Arrange
+        when(userMapper.selectUserChunk(eq(0L), anyInt())).thenReturn(List.of(
+                user(1L, "bob_johnson", "bj@example.com"),
+                user(2L, "bob", "robert@example.com"),
+                user(3L, "alice", "bobby@example.com"),
+                user(4L, "jane_bob", "jane@example.com"),
+                user(5L, "john_doe", "john@example.com")));
+        index.buildOnStartup();
+        
+        // Act
+        List<UserSearchResult> results = index.search("bob", 10);
+        
+        // Assert
+        assertTrue(index.isReady());
+        assertEquals(List.of(2L, 1L, 3L, 4L), results.stream().map(UserSearchResult::getId).toList());
+    }
+    
+    @Test
+    void testSearch_MatchesEmailDomainAndRespectsLimit() {
+        // Arrange
+        when(userMapper.selectUserChunk(eq(0L), anyInt())).thenReturn(List.of(
+                user(1L, "bob_johnson", "bob@example.com"),
+                user(2L, "jane_smith", "jane@example.com"),
+                user(3L, "john_doe", "john@other.org")));
+        index.refresh();
+        
+        // Act & Assert
+        assertEquals(2, index.search("example.com", 10).size());
+        assertEquals(1, index.search("example", 1).size());
+        assertEquals(List.of(3L), index.search("other.org", 10).stream().map(UserSearchResult::getId).toList());
+        assertTrue(index.search("zzz", 10).isEmpty());
+    }
+    
+    @Test
+    void testSearch_FindsUsernamePrefixBehindManyWordMatches() {
+        // Arrange
+        List<User> users = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            users.add(user(id, "user" + id, "user" + id + "@anna" + id + ".org")); // Word matches sorting first
+        }
+        users.add(user(21L, "annz", "z@example.com"));
+        when(userMapper.selectUserChunk(eq(0L), anyInt())).thenReturn(users);
+        index.refresh();
+        
+        // Act
+        List<UserSearchResult> results = index.search("ann", 1);
+        
+        // Assert
+        assertEquals(List.of(21L), results.stream().map(UserSearchResult::getId).toList());
+    }
+    
+    @Test
+    void testRefresh_ReindexesChangedUsers() {
+        // Arrange
+        properties.setRebuildInterval(Duration.ofHours(1));
+        when(userMapper.selectUserChunk(eq(0L), anyInt())).thenReturn(List.of(user(1L, "bob", "bob@example.com")));
+        index.refresh();
+        when(userMapper.selectUsersUpdatedAfter(any(), anyLong(), anyInt()))
+                .thenReturn(List.of(user(1L, "robert", "bob@example.com")));
+        
+        // Act
+        index.refresh();
+        
+        // Assert
+        assertEquals("robert", index.search("rob", 10).get(0).getUsername());
+        assertTrue(index.search("robert", 10).stream().allMatch(user -> user.getId() == 1L));
+        assertEquals(1, index.search("bob", 10).size()); // Still matched by email
+        verify(userMapper, times(1)).selectUsersUpdatedAfter(eq(NOW.minusMinutes(1)), eq(0L), anyInt());
+    }
+    
+    @Test
+    void testRefresh_FailureLeavesIndexUnready() {
+        // Arrange
+        when(userMapper.selectUserChunk(anyLong(), anyInt())).thenThrow(new IllegalStateException("down"));
+        
+        // Act
+        index.refresh();
+        
+        // Assert
+        assertFalse(index.isReady());
+    }
+    
+    private static User user(Long id, String username, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setUpdatedAt(NOW);
+        return user;
+    }
+}
@@ -0,0 +1,40 @@
+package com.teamtodo.config;
+
+import com.teamtodo.cache.UserSearchIndex;
+import com.teamtodo.datasource.ReplicaMonitor;
+import com.teamtodo.push.MemberEventBroadcaster;
+import com.teamtodo.service.MemberChangeLogCompactor;
+import com.teamtodo.service.ProjectMemberService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for LazyInitializationConfig
+ */
+class LazyInitializationConfigTest {
+    
+    private final LazyInitializationExcludeFilter filter = LazyInitializationConfig.scheduledBeansExcludeFilter();
+    
+    @Test
+    void testScheduledBeansStayEager() {
+        // Act & Assert
+        assertTrue(isExcluded(UserSearchIndex.class));
+        assertTrue(isExcluded(ReplicaMonitor.class));
+        assertTrue(isExcluded(MemberEventBroadcaster.class));
+        assertTrue(isExcluded(MemberChangeLogCompactor.class));
+    }
+    
+    @Test
+    void testOtherBeansMayBeLazy() {
+        // Act & Assert
+        assertFalse(isExcluded(ProjectMemberService.class));
+        assertFalse(filter.isExcluded("unknown", new RootBeanDefinition(), null));
+    }
+    
+    private boolean isExcluded(Class<?> beanType) {
+        return filter.isExcluded(beanType.getSimpleName(), new RootBeanDefinition(beanType), beanType);
+    }
+}
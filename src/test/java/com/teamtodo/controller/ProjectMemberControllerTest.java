@@ -1,22 +1,46 @@
 package com.teamtodo.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.teamtodo.admission.AdmissionControl;
+import com.teamtodo.config.AdmissionControlProperties;
+import com.teamtodo.cache.MembershipKey;
+import com.teamtodo.config.MemberExportProperties;
 import com.teamtodo.dto.AddMemberRequest;
+import com.teamtodo.dto.BatchAddMemberResult;
+import com.teamtodo.dto.BatchAddMembersResponse;
+import com.teamtodo.dto.MemberChanges;
+import com.teamtodo.dto.MemberColumns;
+import com.teamtodo.dto.MemberPage;
+import com.teamtodo.dto.MemberQuery;
 import com.teamtodo.dto.MemberResponse;
 import com.teamtodo.entity.ProjectMember;
+import com.teamtodo.push.MemberEventBroadcaster;
 import com.teamtodo.service.ProjectMemberService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -26,6 +50,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Controller tests for ProjectMemberController
  */
 @WebMvcTest(ProjectMemberController.class)
+@Import({ AdmissionControl.class, AdmissionControlProperties.class, SimpleMeterRegistry.class, MemberExportProperties.class })
 class ProjectMemberControllerTest {
     
     @Autowired
@@ -37,6 +62,12 @@ class ProjectMemberControllerTest {
     @MockBean
     private ProjectMemberService projectMemberService;
     
+    @MockBean
+    private MemberEventBroadcaster memberEventBroadcaster;
+    
+    @Autowired
+    private AdmissionControl admissionControl;
+    
     /**
      * T005-02: Test add member API endpoint
      */
@@ -104,6 +135,34 @@ class ProjectMemberControllerTest {
                 .andExpect(jsonPath("$.error").value("User is already a member of this project"));
     }
     
+    @Test
+    void testAddMembers_Batch() throws Exception {
+        // Arrange
+        AddMemberRequest request = new AddMemberRequest();
+        request.setUserId(2L);
+        
+        BatchAddMemberResult result = new BatchAddMemberResult();
+        result.setUserId(2L);
+        result.setStatus(BatchAddMemberResult.Status.ADDED);
+        result.setMemberId(10L);
+        
+        BatchAddMembersResponse response = new BatchAddMembersResponse();
+        response.setProjectId(1L);
+        response.setAdded(1);
+        response.setResults(List.of(result));
+        
+        when(projectMemberService.addMembers(eq(1L), anyList())).thenReturn(response);
+        
+        // Act & Assert
+        mockMvc.perform(post("/projects/{projectId}/members/batch", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(request))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.added").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("ADDED"))
+                .andExpect(jsonPath("$.results[0].memberId").value(10));
+    }
+    
     /**
      * T005-03: Test get project members API endpoint
      */
@@ -130,7 +189,7 @@ class ProjectMemberControllerTest {
         
         List<MemberResponse> members = Arrays.asList(member1, member2);
         
-        when(projectMemberService.getProjectMembers(projectId)).thenReturn(members);
+        when(projectMemberService.getProjectMembers(eq(projectId), any())).thenReturn(members);
         
         // Act & Assert
         mockMvc.perform(get("/projects/{projectId}/members", projectId))
@@ -140,7 +199,420 @@ class ProjectMemberControllerTest {
                 .andExpect(jsonPath("$[0].username").value("owner"))
                 .andExpect(jsonPath("$[1].username").value("member"));
         
-        verify(projectMemberService, times(1)).getProjectMembers(projectId);
+        verify(projectMemberService, times(1)).getProjectMembers(eq(projectId), any());
+    }
+    
+    @Test
+    void testGetProjectMembers_PagedWithNextCursor() throws Exception {
+        // Arrange
+        Long projectId = 1L;
+        
+        MemberResponse member = new MemberResponse();
+        member.setId(2L);
+        member.setUserId(2L);
+        member.setUsername("member");
+        member.setRole("MEMBER");
+        
+        when(projectMemberService.getProjectMembersPage(eq(projectId), any(MemberQuery.class), any()))
+                .thenReturn(new MemberPage(List.of(member), "next-token"));
+        
+        // Act & Assert
+        mockMvc.perform(get("/projects/{projectId}/members", projectId)
+                .param("role", "MEMBER")
+                .param("sort", "desc")
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next-token"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].username").value("member"));
+        
+        verify(projectMemberService, never()).getProjectMembers(any(), any());
+    }
+    
+    /**
+     * T005-03: Test the member list carries the member list version as ETag
+     */
+    @Test
+    void testGetProjectMembers_SendsETag() throws Exception {
+        // Arrange
+        when(projectMemberService.getMemberListVersion(1L)).thenReturn(3L);
+        when(projectMemberService.getProjectMembers(1L, 3L)).thenReturn(List.of());
+        
+        // Act & Assert
+        mockMvc.perform(get("/projects/{projectId}/members", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("ETag", "\"members-v3\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
+    }
+    
+    @Test
+    void testGetProjectMembers_NotModified() throws Exception {
+        // Arrange
+        when(projectMemberService.getMemberListVersion(1L)).thenReturn(3L);
+        
+        // Act & Assert
+        mockMvc.perform(get("/projects/{projectId}/members", 1L)
+                .header("If-None-Match", "\"members-v3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        
+        verify(projectMemberService, never()).getProjectMembers(any(), any());
+        verify(projectMemberService, never()).getProjectMembersPage(any(), any(), any());
+    }
+    
+    @Test
+    void testGetProjectMembers_StaleETag() throws Exception {
+        // Arrange
+        when(projectMemberService.getMemberListVersion(1L)).thenReturn(4L);
+        when(projectMemberService.getProjectMembers(1L, 4L)).thenReturn(List.of());
+        
+        // Act & Assert
+        mockMvc.perform(get("/projects/{projectId}/members", 1L)
+                .header("If-None-Match", "\"members-v3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"members-v4\""));
+        
+        verify(projectMemberService, times(1)).getProjectMembers(1L, 4L);
+    }
+    
+    @Test
+    void testGetProjectMembers_InvalidSort() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/projects/{projectId}/members", 1L)
+                .param("sort", "sideways"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Sort must be either asc or desc"));
+    }
+    
+    /**
+     * T005-03: Test the columnar member list is served for its media type
+     */
+    @Test
+    void testGetProjectMembers_Columnar() throws Exception {
+        // Arrange
+        MemberResponse owner = new MemberResponse();
+        owner.setId(1L);
+        owner.setUserId(1L);
+        owner.setUsername("owner");
+        owner.setEmail("owner@test.com");
+        owner.setRole("OWNER");
+        owner.setJoinedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        
+        MemberResponse member = new MemberResponse();
+        member.setId(2L);
+        member.setUserId(7L);
+        member.setUsername("member");
+        member.setRole("MEMBER");
+        member.setJoinedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 0, 120_000_000));
+        
+        when(projectMemberService.getMemberListVersion(1L)).thenReturn(3L);
+        when(projectMemberService.getProjectMembers(1L, 3L)).thenReturn(List.of(owner, member));
+        
+        // Act & Assert
+        mockMvc.perform(get("/projects/{projectId}/members", 1L)
+                .accept(MemberColumns.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MemberColumns.MEDIA_TYPE))
+                .andExpect(header().string("ETag", "\"members-v3-columns\""))
+                .andExpect(header().string("Vary", "Accept"))
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.id[1]").value(2))
+                .andExpect(jsonPath("$.userId[1]").value(7))
+                .andExpect(jsonPath("$.username[0]").value("owner"))
+                .andExpect(jsonPath("$.email[1]").doesNotExist())
+                .andExpect(jsonPath("$.role[0]").value("OWNER"))
+                .andExpect(jsonPath("$.joinedAt[0]").value("2024-01-02T03:04:05"))
+                .andExpect(jsonPath("$.joinedAt[1]").value("2024-01-02T03:04:00.12"));
+    }
+    
+    @Test
+    void testGetProjectMembers_ColumnarSmile() throws Exception {
+        // Arrange
+        MemberResponse owner = new MemberResponse();
+        owner.setId(1L);
+        owner.setUserId(1L);
+        owner.setUsername("owner");
+        owner.setEmail("owner@example.com");
+        owner.setRole("OWNER");
+        owner.setJoinedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        
+        when(projectMemberService.getMemberListVersion(1L)).thenReturn(3L);
+        when(projectMemberService.getProjectMembers(1L, 3L)).thenReturn(List.of(owner));
+        
+        // Act
+        byte[] body = mockMvc.perform(get("/projects/{projectId}/members", 1L)
+                .accept(MemberColumns.SMILE_MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MemberColumns.SMILE_MEDIA_TYPE))
+                .andExpect(header().string("ETag", "\"members-v3-columns-smile\""))
+                .andReturn().getResponse().getContentAsByteArray();
+        
+        // Assert
+        JsonNode smile = new ObjectMapper(new SmileFactory()).readTree(body);
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(new MemberColumns(List.of(owner))));
+        assertEquals(':', body[0]); // Smile header ":)\n"
+        assertEquals(json, smile);
+        assertEquals("owner@example.com", smile.get("email").get(0).asText());
+    }
+    
+    @Test
+    void testGetProjectMembers_ColumnarJoinedAtMatchesRows() throws Exception {
+        // Arrange
+        LocalDateTime joinedAt = LocalDateTime.of(2024, 12, 31, 23, 59, 59, 123_456_789);
+        MemberResponse member = new MemberResponse();
+        member.setId(1L);
+        member.setJoinedAt(joinedAt);
+        
+        // Act
+        String rows = objectMapper.writeValueAsString(List.of(member));
+        String columns = objectMapper.writeValueAsString(new MemberColumns(List.of(member)));
+        
+        // Assert
+        String expected = objectMapper.writeValueAsString(joinedAt);
+        assertTrue(rows.contains("\"joinedAt\":" + expected));
+        assertTrue(columns.contains("\"joinedAt\":[" + expected + "]"));
+    }
+    
+    @Test
+    void testGetProjectMembers_ColumnarPaged() throws Exception {
+        // Arrange
+        MemberResponse member = new MemberResponse();
+        member.setId(2L);
+        member.setUsername("member");
+        
+        when(projectMemberService.getProjectMembersPage(eq(1L), any(MemberQuery.class), any()))
+                .thenReturn(new MemberPage(List.of(member), "next-token"));
+        
+        // Act & Assert
+        mockMvc.perform(get("/projects/{projectId}/members", 1L)
+                .param("limit", "1")
+                .accept(MemberColumns.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next-token"))
+                .andExpect(jsonPath("$.size").value(1))
+                .andExpect(jsonPath("$.username[0]").value("member"));
+    }
+    
+    @Test
+    void testGetProjectMembers_ColumnarNotModified() throws Exception {
+        // Arrange
+        when(projectMemberService.getMemberListVersion(1L)).thenReturn(3L);
+        
+        // Act & Assert
+        mockMvc.perform(get("/projects/{projectId}/members", 1L)
+                .accept(MemberColumns.MEDIA_TYPE)
+                .header("If-None-Match", "\"members-v3-columns\""))
+                .andExpect(status().isNotModified());
+        
+        // The row form's ETag does not validate the columnar form
+        when(projectMemberService.getProjectMembers(1L, 3L)).thenReturn(List.of());
+        mockMvc.perform(get("/projects/{projectId}/members", 1L)
+                .accept(MemberColumns.MEDIA_TYPE)
+                .header("If-None-Match", "\"members-v3\""))
+                .andExpect(status().isOk());
+    }
+    
+    @Test
+    void testGetProjectMembers_ColumnarInvalidSort() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/projects/{projectId}/members", 1L)
+                .param("sort", "sideways")
+                .accept(MemberColumns.MEDIA_TYPE))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error").value("Sort must be either asc or desc"));
+    }
+    
+    /**
+     * T005-03: Test member list delta sync API endpoint
+     */
+    @Test
+    void testGetMemberChanges_Delta() throws Exception {
+        // Arrange
+        when(projectMemberService.getMemberChanges(1L, 3L)).thenReturn(MemberChanges.delta(1L, 3L, List.of()));
+        
+        // Act & Assert
+        mockMvc.perform(get("/projects/{projectId}/members/changes", 1L).param("since", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(3))
+                .andExpect(jsonPath("$.snapshot").value(false))
+                .andExpect(jsonPath("$.changes.length()").value(0));
+    }
+    
+    @Test
+    void testGetMemberChanges_NegativeSince() throws Exception {
+        // Arrange
+        when(projectMemberService.getMemberChanges(1L, -1L))
+                .thenThrow(new IllegalArgumentException("Since must not be negative"));
+        
+        // Act & Assert
+        mockMvc.perform(get("/projects/{projectId}/members/changes", 1L).param("since", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Since must not be negative"));
+    }
+    
+    /**
+     * T005-03: Test member event stream API endpoint
+     */
+    @Test
+    void testStreamMemberEvents() throws Exception {
+        // Arrange
+        when(memberEventBroadcaster.isEnabled()).thenReturn(true);
+        when(projectMemberService.getMemberListVersion(1L)).thenReturn(7L);
+        SseEmitter emitter = new SseEmitter();
+        emitter.send(SseEmitter.event().id("7").name("version").data("{\"version\":7}"));
+        when(memberEventBroadcaster.subscribe(1L, 7L)).thenReturn(emitter);
+        
+        // Act & Assert
+        mockMvc.perform(get("/projects/{projectId}/members/events", 1L).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string("id:7\nevent:version\ndata:{\"version\":7}\n\n"));
+        verify(memberEventBroadcaster, times(1)).subscribe(1L, 7L);
+    }
+    
+    @Test
+    void testStreamMemberEvents_ProjectNotFound() throws Exception {
+        // Arrange
+        when(memberEventBroadcaster.isEnabled()).thenReturn(true);
+        when(projectMemberService.getMemberListVersion(999L)).thenReturn(null);
+        
+        // Act & Assert
+        MvcResult result = mockMvc.perform(get("/projects/{projectId}/members/events", 999L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Project not found with id: 999"));
+        verify(memberEventBroadcaster, never()).subscribe(any(), anyLong());
+    }
+    
+    @Test
+    void testStreamMemberEvents_TooManySubscribers() throws Exception {
+        // Arrange
+        when(memberEventBroadcaster.isEnabled()).thenReturn(true);
+        when(projectMemberService.getMemberListVersion(1L)).thenReturn(7L);
+        when(memberEventBroadcaster.subscribe(1L, 7L))
+                .thenThrow(new IllegalStateException("Too many member event subscribers, retry later"));
+        
+        // Act & Assert
+        MvcResult result = mockMvc.perform(get("/projects/{projectId}/members/events", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.error").value("Too many member event subscribers, retry later"));
+    }
+    
+    /**
+     * T005-03: Test member export API endpoint
+     */
+    @Test
+    void testExportProjectMembers_Ndjson() throws Exception {
+        // Arrange
+        streamMembers(member(2L, "alice", "MEMBER"), member(3L, "bob", "ADMIN"));
+        
+        // Act
+        MvcResult result = mockMvc.perform(get("/projects/{projectId}/members/export", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"project-1-members.ndjson\""))
+                .andExpect(content().string(
+                        "{\"id\":2,\"userId\":2,\"username\":\"alice\",\"email\":\"alice@example.com\",\"role\":\"MEMBER\",\"joinedAt\":\"2024-01-01T10:00:00\"}\n"
+                        + "{\"id\":3,\"userId\":3,\"username\":\"bob\",\"email\":\"bob@example.com\",\"role\":\"ADMIN\",\"joinedAt\":\"2024-01-01T10:00:00\"}\n"));
+    }
+    
+    /**
+     * T005-03: Test only the export gets the long async timeout
+     */
+    @Test
+    void testExportProjectMembers_UsesExportTimeout() throws Exception {
+        // Arrange
+        streamMembers(member(2L, "alice", "MEMBER"));
+        
+        // Act
+        MvcResult result = mockMvc.perform(get("/projects/{projectId}/members/export", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        // Assert
+        assertEquals(Duration.ofMinutes(30).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+    }
+    
+    /**
+     * T005-03: Test exports beyond max-concurrent-exports are refused, and finished exports free their permit
+     */
+    @Test
+    void testExportProjectMembers_TooManyExports() throws Exception {
+        // Arrange
+        streamMembers(member(2L, "alice", "MEMBER"));
+        for (int i = 0; i < 3; i++) {
+            MvcResult finished = mockMvc.perform(get("/projects/{projectId}/members/export", 1L))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(finished)).andExpect(status().isOk());
+        }
+        assertTrue(admissionControl.admitExport());
+        assertTrue(admissionControl.admitExport());
+        
+        // Act & Assert
+        try {
+            MvcResult result = mockMvc.perform(get("/projects/{projectId}/members/export", 1L))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "5"))
+                    .andExpect(jsonPath("$.error").value("Too many exports running, retry later"));
+        } finally {
+            admissionControl.releaseExport();
+            admissionControl.releaseExport();
+        }
+    }
+    
+    @Test
+    void testExportProjectMembers_Csv() throws Exception {
+        // Arrange
+        MemberResponse quoted = member(3L, "bob \"the builder\", jr", "ADMIN");
+        quoted.setEmail(null);
+        streamMembers(member(2L, "alice", "MEMBER"), quoted);
+        
+        // Act
+        MvcResult result = mockMvc.perform(get("/projects/{projectId}/members/export", 1L)
+                .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"project-1-members.csv\""))
+                .andExpect(content().string("id,userId,username,email,role,joinedAt\r\n"
+                        + "2,2,alice,alice@example.com,MEMBER,2024-01-01T10:00:00\r\n"
+                        + "3,3,\"bob \"\"the builder\"\", jr\",,ADMIN,2024-01-01T10:00:00\r\n"));
+    }
+    
+    @Test
+    void testExportProjectMembers_InvalidFormat() throws Exception {
+        // Act
+        MvcResult result = mockMvc.perform(get("/projects/{projectId}/members/export", 1L)
+                .param("format", "xml"))
+                .andReturn();
+        
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Format must be either ndjson or csv"));
+        
+        verify(projectMemberService, never()).exportProjectMembers(any(), any());
     }
     
     /**
@@ -196,4 +668,58 @@ class ProjectMemberControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("Cannot remove yourself from the project"));
     }
+    
+    /**
+     * AC5: Test batch membership check API endpoint
+     */
+    @Test
+    void testCheckMemberships_Batch() throws Exception {
+        // Arrange
+        when(projectMemberService.checkMemberships(anyList())).thenReturn(Map.of(
+                new MembershipKey(1L, 2L), true,
+                new MembershipKey(2L, 2L), false));
+        
+        String body = "{\"pairs\":[{\"projectId\":1,\"userId\":2},{\"projectId\":2,\"userId\":2}]}";
+        
+        // Act & Assert
+        mockMvc.perform(post("/projects/members/check")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results['1:2']").value(true))
+                .andExpect(jsonPath("$.results['2:2']").value(false));
+    }
+    
+    @Test
+    void testCheckMemberships_EmptyPairs() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/projects/members/check")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"pairs\":[]}"))
+                .andExpect(status().isBadRequest());
+        
+        verify(projectMemberService, never()).checkMemberships(any());
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void streamMembers(MemberResponse... members) {
+        doAnswer(invocation -> {
+            Consumer<MemberResponse> sink = invocation.getArgument(1);
+            for (MemberResponse member : members) {
+                sink.accept(member);
+            }
+            return null;
+        }).when(projectMemberService).exportProjectMembers(eq(1L), any(Consumer.class));
+    }
+    
+    private static MemberResponse member(Long id, String username, String role) {
+        MemberResponse member = new MemberResponse();
+        member.setId(id);
+        member.setUserId(id);
+        member.setUsername(username);
+        member.setEmail(username + "@example.com");
+        member.setRole(role);
+        member.setJoinedAt(LocalDateTime.of(2024, 1, 1, 10, 0));
+        return member;
+    }
 }
@@ -0,0 +1,105 @@
+package com.teamtodo.controller;
+
+import com.teamtodo.admission.AdmissionControl;
+import com.teamtodo.config.AdmissionControlProperties;
+import com.teamtodo.dto.UserProjectPage;
+import com.teamtodo.dto.UserProjectResponse;
+import com.teamtodo.dto.UserSearchResult;
+import com.teamtodo.service.ProjectMemberService;
+import com.teamtodo.service.UserSearchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Controller tests for UserController
+ */
+@WebMvcTest(UserController.class)
+@Import({ AdmissionControl.class, AdmissionControlProperties.class, SimpleMeterRegistry.class })
+class UserControllerTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @MockBean
+    private UserSearchService userSearchService;
+    
+    @MockBean
+    private ProjectMemberService projectMemberService;
+    
+    /**
+     * AC1: Test user search API endpoint
+     */
+    @Test
+    void testSearchUsers_Success() throws Exception {
+        // Arrange
+        when(userSearchService.search("jo", 5)).thenReturn(List.of(
+                new UserSearchResult(2L, "john_doe", "john@example.com")));
+        
+        // Act & Assert
+        mockMvc.perform(get("/users/search").param("q", "jo").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(2))
+                .andExpect(jsonPath("$[0].username").value("john_doe"));
+    }
+    
+    @Test
+    void testSearchUsers_BlankQuery() throws Exception {
+        // Arrange
+        when(userSearchService.search(any(), any()))
+                .thenThrow(new IllegalArgumentException("Search query is required"));
+        
+        // Act & Assert
+        mockMvc.perform(get("/users/search").param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Search query is required"));
+    }
+    
+    /**
+     * AC2: Test user project list API endpoint
+     */
+    @Test
+    void testGetUserProjects_Success() throws Exception {
+        // Arrange
+        UserProjectResponse project = new UserProjectResponse();
+        project.setMemberId(7L);
+        project.setProjectId(1L);
+        project.setName("Apollo");
+        project.setRole("MEMBER");
+        when(projectMemberService.getUserProjects(2L, null, 1))
+                .thenReturn(new UserProjectPage(List.of(project), "next-token"));
+        
+        // Act & Assert
+        mockMvc.perform(get("/users/{userId}/projects", 2L).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next-token"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].projectId").value(1))
+                .andExpect(jsonPath("$[0].name").value("Apollo"));
+    }
+    
+    @Test
+    void testGetUserProjects_InvalidCursor() throws Exception {
+        // Arrange
+        when(projectMemberService.getUserProjects(2L, "bogus", null))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+        
+        // Act & Assert
+        mockMvc.perform(get("/users/{userId}/projects", 2L).param("cursor", "bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+}
@@ -0,0 +1,191 @@
+package com.teamtodo.datasource;
+
+import com.teamtodo.config.ReadReplicaProperties;
+import com.teamtodo.support.H2Schema;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routing between two embedded H2 databases standing in for the primary and a replica
+ * Nothing replicates between them: each holds a project named after its role, so the project
+ * name read back tells which target answered, and tests copy the heartbeat to the replica
+ * themselves to simulate replication.
+ */
+class ReadWriteRoutingDataSourceTest {
+    
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    
+    private HikariDataSource primary;
+    
+    private HikariDataSource replica;
+    
+    private ReplicaMonitor monitor;
+    
+    private JdbcTemplate jdbc;
+    
+    private TransactionTemplate writeTransaction;
+    
+    private TransactionTemplate readOnlyTransaction;
+    
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+        monitor = new ReplicaMonitor(primary, Map.of("replica-0", replica), Duration.ofSeconds(2), registry);
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, monitor, registry));
+        jdbc = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_SUPPORTS);
+    }
+    
+    @AfterEach
+    void tearDown() throws Exception {
+        monitor.close();
+        primary.close();
+    }
+    
+    @Test
+    void testReadOnlyTransaction_GoesToHealthyReplica() {
+        // Arrange
+        replicateHeartbeat(Duration.ZERO);
+        monitor.checkLag();
+        
+        projectName(); // Lets the lazy proxy look up the connection defaults
+        double replicaConnections = connections("replica-0");
+        double primaryConnections = connections("primary");
+        
+        // Act & Assert
+        assertEquals("replica", readOnlyTransaction.execute(status -> projectName()));
+        assertEquals("primary", writeTransaction.execute(status -> projectName()));
+        assertEquals("primary", projectName()); // No transaction
+        assertEquals(replicaConnections + 1, connections("replica-0"));
+        assertEquals(primaryConnections + 2, connections("primary"));
+        assertEquals(1, registry.get("teamtodo.datasource.replica.healthy").tag("target", "replica-0").gauge().value());
+    }
+    
+    @Test
+    void testLaggingReplica_ReadsFallBackToPrimary() {
+        // Arrange
+        replicateHeartbeat(Duration.ofSeconds(10));
+        monitor.checkLag();
+        
+        // Act & Assert
+        assertEquals("primary", readOnlyTransaction.execute(status -> projectName()));
+        assertEquals(0, registry.get("teamtodo.datasource.replica.healthy").tag("target", "replica-0").gauge().value());
+        assertTrue(registry.get("teamtodo.datasource.replica.lag").tag("target", "replica-0").timeGauge()
+                .value(TimeUnit.SECONDS) >= 10);
+        
+        // The replica catches up
+        replicateHeartbeat(Duration.ZERO);
+        monitor.checkLag();
+        assertEquals("replica", readOnlyTransaction.execute(status -> projectName()));
+    }
+    
+    @Test
+    void testUncheckedOrUnreachableReplica_ReadsGoToPrimary() {
+        // Unchecked
+        assertEquals("primary", readOnlyTransaction.execute(status -> projectName()));
+        
+        // No heartbeat has reached the replica
+        monitor.checkLag();
+        assertEquals("primary", readOnlyTransaction.execute(status -> projectName()));
+        
+        // Unreachable
+        replicateHeartbeat(Duration.ZERO);
+        monitor.checkLag();
+        replica.close();
+        monitor.checkLag();
+        assertEquals("primary", readOnlyTransaction.execute(status -> projectName()));
+    }
+    
+    @Test
+    void testRecentlyWrittenProject_ReadsPinnedToPrimary() {
+        // Arrange
+        replicateHeartbeat(Duration.ZERO);
+        monitor.checkLag();
+        ReadReplicaProperties properties = new ReadReplicaProperties();
+        properties.setEnabled(true);
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(properties);
+        tracker.recordWrite(1L, 2L);
+        
+        // Act & Assert
+        assertEquals("primary", readOnlyTransaction.execute(status -> {
+            tracker.readingProject(1L);
+            return projectName();
+        }));
+        assertEquals("replica", readOnlyTransaction.execute(status -> {
+            tracker.readingProject(3L);
+            return projectName();
+        }));
+        assertEquals("primary", readOnlyTransaction.execute(status -> {
+            tracker.readingUser(2L);
+            return projectName();
+        }));
+        assertEquals("replica", readOnlyTransaction.execute(status -> projectName())); // The pin ended with its transaction
+    }
+    
+    @Test
+    void testRequest_StaysOnPrimaryAfterWriting() {
+        // Arrange
+        replicateHeartbeat(Duration.ZERO);
+        monitor.checkLag();
+        ReadRouting.beginRequest();
+        try {
+            // Act & Assert
+            assertEquals("replica", readOnlyTransaction.execute(status -> projectName()));
+            assertEquals("replica", readOnlyTransaction.execute(status -> projectName()));
+            writeTransaction.executeWithoutResult(status -> jdbc.update("UPDATE projects SET description = 'x' WHERE id = 1"));
+            assertEquals("primary", readOnlyTransaction.execute(status -> projectName()));
+        } finally {
+            ReadRouting.endRequest();
+        }
+        assertEquals("replica", readOnlyTransaction.execute(status -> projectName()));
+    }
+    
+    private double connections(String target) {
+        return registry.get("teamtodo.datasource.connections").tag("target", target).counter().count();
+    }
+    
+    private String projectName() {
+        return jdbc.queryForObject("SELECT name FROM projects WHERE id = 1", String.class);
+    }
+    
+    /**
+     * Copy the primary's heartbeat to the replica, as replication would with the given delay
+     */
+    private void replicateHeartbeat(Duration lag) {
+        new JdbcTemplate(replica).update(ReplicaMonitor.WRITE_HEARTBEAT, Timestamp.valueOf(LocalDateTime.now().minus(lag)));
+    }
+    
+    private static HikariDataSource h2(String role) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(H2Schema.url(role + System.nanoTime()));
+        dataSource.setDriverClassName(H2Schema.DRIVER_CLASS_NAME);
+        dataSource.setUsername("sa");
+        H2Schema.load(dataSource);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("INSERT INTO users (id, username, email) VALUES (1, 'owner', 'owner@example.com')");
+        jdbc.update("INSERT INTO projects (id, name, owner_id) VALUES (1, ?, 1)", role);
+        return dataSource;
+    }
+}
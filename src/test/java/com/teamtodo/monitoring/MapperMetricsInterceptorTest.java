@@ -0,0 +1,86 @@
+package com.teamtodo.monitoring;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for MapperMetricsInterceptor
+ */
+class MapperMetricsInterceptorTest {
+    
+    private SimpleMeterRegistry registry;
+    
+    private MapperMetricsInterceptor interceptor;
+    
+    private Executor executor;
+    
+    private Method query;
+    
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        registry = new SimpleMeterRegistry();
+        interceptor = new MapperMetricsInterceptor(registry);
+        executor = mock(Executor.class);
+        query = Executor.class.getMethod("query",
+                MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class);
+    }
+    
+    @Test
+    void testIntercept_TimesCallTaggedByMapperAndMethod() throws Throwable {
+        // Arrange
+        MappedStatement statement = statement("com.teamtodo.mapper.ProjectMemberMapper.selectMemberResponses");
+        when(executor.query(any(), any(), any(), any())).thenReturn(List.of());
+        
+        // Act
+        interceptor.intercept(new Invocation(executor, query,
+                new Object[] { statement, 1L, RowBounds.DEFAULT, null }));
+        interceptor.intercept(new Invocation(executor, query,
+                new Object[] { statement, 2L, RowBounds.DEFAULT, null }));
+        
+        // Assert
+        Timer timer = registry.get(MapperMetricsInterceptor.METRIC_NAME)
+                .tags("mapper", "ProjectMemberMapper", "method", "selectMemberResponses", "outcome", "success")
+                .timer();
+        assertEquals(2, timer.count());
+    }
+    
+    @Test
+    void testIntercept_FailedCallIsTimedAsError() throws Throwable {
+        // Arrange
+        MappedStatement statement = statement("com.teamtodo.mapper.UserMapper.selectById");
+        when(executor.query(any(), any(), any(), any())).thenThrow(new SQLException("connection lost"));
+        Invocation invocation = new Invocation(executor, query,
+                new Object[] { statement, 1L, RowBounds.DEFAULT, null });
+        
+        // Act & Assert
+        assertThrows(Exception.class, () -> interceptor.intercept(invocation));
+        assertEquals(1, registry.get(MapperMetricsInterceptor.METRIC_NAME)
+                .tags("mapper", "UserMapper", "method", "selectById", "outcome", "error")
+                .timer().count());
+    }
+    
+    private static MappedStatement statement(String id) {
+        Configuration configuration = new Configuration();
+        return new MappedStatement.Builder(configuration, id,
+                new StaticSqlSource(configuration, "SELECT 1"), SqlCommandType.SELECT).build();
+    }
+}
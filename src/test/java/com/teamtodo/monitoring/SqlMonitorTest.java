@@ -0,0 +1,141 @@
+package com.teamtodo.monitoring;
+
+import com.teamtodo.config.SqlMonitorProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SqlMonitor
+ */
+class SqlMonitorTest {
+    
+    private static final String SQL = "SELECT id FROM project_members\n    WHERE project_id = ? AND user_id = ?";
+    
+    private final Configuration configuration = new Configuration();
+    
+    private final MappedStatement statement = new MappedStatement.Builder(configuration,
+            "com.teamtodo.mapper.ProjectMemberMapper.selectOne",
+            new StaticSqlSource(configuration, SQL), SqlCommandType.SELECT).build();
+    
+    private SqlMonitorProperties properties;
+    
+    private SimpleMeterRegistry registry;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new SqlMonitorProperties();
+        properties.setStatementBudget(2);
+        registry = new SimpleMeterRegistry();
+    }
+    
+    @Test
+    void testEndRequest_OverBudget_IsFlagged() {
+        // Arrange
+        SqlMonitor monitor = new SqlMonitor(properties, registry);
+        monitor.beginRequest();
+        for (int i = 0; i < 3; i++) {
+            monitor.record(statement, this::boundSql, 1_000, 1);
+        }
+        
+        // Act
+        monitor.endRequest("GET /projects/{projectId}/members");
+        
+        // Assert
+        List<SqlMonitor.BudgetViolation> violations = monitor.violations();
+        assertEquals(1, violations.size());
+        assertEquals("GET /projects/{projectId}/members", violations.get(0).request());
+        assertEquals(3, violations.get(0).statements());
+        assertEquals(3, violations.get(0).rows());
+        assertEquals(1.0, registry.get("teamtodo.sql.budget.exceeded")
+                .tags("request", "GET /projects/{projectId}/members").counter().count());
+    }
+    
+    @Test
+    void testEndRequest_WithinBudget_IsNotFlagged() {
+        // Arrange
+        SqlMonitor monitor = new SqlMonitor(properties, registry);
+        monitor.beginRequest();
+        monitor.record(statement, this::boundSql, 1_000, 1);
+        monitor.record(statement, this::boundSql, 1_000, 1);
+        
+        // Act
+        monitor.endRequest("GET /projects/{projectId}/members");
+        
+        // Assert
+        assertTrue(monitor.violations().isEmpty());
+        assertEquals(2.0, registry.get("teamtodo.sql.statements").summary().totalAmount());
+    }
+    
+    @Test
+    void testEndRequest_NotSampled_IsNotCounted() {
+        // Arrange
+        properties.setSampleRate(0);
+        SqlMonitor monitor = new SqlMonitor(properties, registry);
+        monitor.beginRequest();
+        for (int i = 0; i < 3; i++) {
+            monitor.record(statement, this::boundSql, 1_000, 1);
+        }
+        
+        // Act
+        monitor.endRequest("GET /projects/{projectId}/members");
+        
+        // Assert
+        assertTrue(monitor.violations().isEmpty());
+    }
+    
+    @Test
+    void testRecord_SlowStatement_KeptWithParameterShape() {
+        // Arrange
+        properties.setSlowThreshold(Duration.ofMillis(100));
+        SqlMonitor monitor = new SqlMonitor(properties, registry);
+        
+        // Act
+        monitor.record(statement, this::boundSql, Duration.ofMillis(50).toNanos(), 1);
+        monitor.record(statement, this::boundSql, Duration.ofMillis(150).toNanos(), 1);
+        
+        // Assert
+        List<SqlMonitor.SlowStatement> slow = monitor.slowStatements();
+        assertEquals(1, slow.size());
+        assertEquals("com.teamtodo.mapper.ProjectMemberMapper.selectOne", slow.get(0).statement());
+        assertEquals("SELECT id FROM project_members WHERE project_id = ? AND user_id = ?", slow.get(0).sql());
+        assertEquals("(Long, Long)", slow.get(0).parameters());
+        assertEquals(150, slow.get(0).millis());
+    }
+    
+    @Test
+    void testSlowStatements_KeepsMostRecentSlowestFirst() {
+        // Arrange
+        properties.setSlowThreshold(Duration.ZERO);
+        properties.setSlowLogSize(2);
+        SqlMonitor monitor = new SqlMonitor(properties, registry);
+        
+        // Act
+        monitor.record(statement, this::boundSql, Duration.ofMillis(900).toNanos(), 1);
+        monitor.record(statement, this::boundSql, Duration.ofMillis(100).toNanos(), 1);
+        monitor.record(statement, this::boundSql, Duration.ofMillis(300).toNanos(), 1);
+        
+        // Assert
+        List<SqlMonitor.SlowStatement> slow = monitor.slowStatements();
+        assertEquals(List.of(300L, 100L), slow.stream().map(SqlMonitor.SlowStatement::millis).toList());
+    }
+    
+    private BoundSql boundSql() {
+        List<ParameterMapping> mappings = List.of(
+                new ParameterMapping.Builder(configuration, "projectId", Object.class).build(),
+                new ParameterMapping.Builder(configuration, "userId", Object.class).build());
+        return new BoundSql(configuration, SQL, mappings, Map.of("projectId", 1L, "userId", 2L));
+    }
+}
@@ -0,0 +1,197 @@
+package com.teamtodo.push;
+
+import com.teamtodo.config.MemberEventsProperties;
+import com.teamtodo.entity.ProjectMemberChange;
+import com.teamtodo.mapper.ProjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Test class for MemberEventBroadcaster, streams are opened through MockMvc so events are
+ * written to a real response
+ */
+@ExtendWith(MockitoExtension.class)
+class MemberEventBroadcasterTest {
+    
+    @Mock
+    private ProjectMapper projectMapper;
+    
+    private final MemberEventsProperties properties = new MemberEventsProperties();
+    
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    
+    private final List<Runnable> pendingTasks = new ArrayList<>();
+    
+    private MemberEventBroadcaster broadcaster;
+    
+    @BeforeEach
+    void setUp() {
+        broadcaster = new MemberEventBroadcaster(properties, projectMapper, new SyncTaskExecutor(), registry);
+    }
+    
+    @Test
+    void testPublish_WritesEventToSubscribersOfProject() throws Exception {
+        // Arrange
+        when(projectMapper.selectMemberVersion(1L)).thenReturn(6L);
+        MockHttpServletResponse watching = open(1L, 5L);
+        MockHttpServletResponse other = open(2L, 9L);
+        
+        // Act
+        broadcaster.publish(1L, ProjectMemberChange.Type.ADDED, 3);
+        
+        // Assert
+        assertEquals("id:5\nevent:version\ndata:{\"version\":5}\n\n"
+                + "id:6\nevent:members\ndata:{\"version\":6,\"type\":\"ADDED\",\"count\":3}\n\n",
+                watching.getContentAsString());
+        assertEquals("id:9\nevent:version\ndata:{\"version\":9}\n\n", other.getContentAsString());
+        verify(projectMapper, never()).selectMemberVersion(2L);
+        assertEquals(2, registry.get("teamtodo.member.events.subscribers").gauge().value());
+    }
+    
+    @Test
+    void testPublish_NoSubscribers_DoesNotReadVersion() {
+        // Act
+        broadcaster.publish(1L, ProjectMemberChange.Type.REMOVED, 1);
+        
+        // Assert
+        assertFalse(broadcaster.hasSubscribers(1L));
+        verifyNoInteractions(projectMapper);
+    }
+    
+    @Test
+    void testHeartbeat_WritesComment() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = open(1L, 5L);
+        
+        // Act
+        broadcaster.heartbeat();
+        
+        // Assert
+        assertTrue(response.getContentAsString().endsWith("\n\n:\n\n"));
+    }
+    
+    @Test
+    void testSubscribe_TooManySubscribers_ThrowsException() throws Exception {
+        // Arrange
+        properties.setMaxSubscribers(1);
+        open(1L, 5L);
+        
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> broadcaster.subscribe(2L, 1L));
+        assertEquals(1, registry.get("teamtodo.member.events.subscribers").gauge().value());
+    }
+    
+    @Test
+    void testSlowSubscriber_IsDisconnected() {
+        // Arrange: nothing is written until the queued tasks run, a fresh registry so the gauge tracks this broadcaster
+        MeterRegistry registry = new SimpleMeterRegistry();
+        broadcaster = new MemberEventBroadcaster(properties, projectMapper, pendingTasks::add, registry);
+        properties.setMaxQueuedEvents(2);
+        SseEmitter emitter = broadcaster.subscribe(1L, 5L);
+        
+        // Act
+        broadcaster.heartbeat();
+        broadcaster.heartbeat();
+        
+        // Assert
+        assertFalse(broadcaster.hasSubscribers(1L));
+        assertEquals(1, registry.get("teamtodo.member.events.dropped").counter().count());
+        assertEquals(0, registry.get("teamtodo.member.events.subscribers").gauge().value());
+        assertThrows(IllegalStateException.class, () -> emitter.send("late")); // Already completed
+    }
+    
+    @Test
+    void testSubscribeAndUnsubscribe_ConcurrentlyLoseNoSubscriber() throws Exception {
+        // Arrange: nothing is drained, so every heartbeat drops all subscribers and empties the project's set
+        MeterRegistry registry = new SimpleMeterRegistry(); // Gauges of the broadcaster from setUp stay registered
+        broadcaster = new MemberEventBroadcaster(properties, projectMapper, task -> { }, registry);
+        properties.setMaxQueuedEvents(1);
+        properties.setMaxSubscribers(Integer.MAX_VALUE);
+        int subscribeThreads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(subscribeThreads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean subscribing = new AtomicBoolean(true);
+        List<Future<?>> subscribes = new ArrayList<>();
+        
+        // Act
+        for (int i = 0; i < subscribeThreads; i++) {
+            subscribes.add(executor.submit(() -> {
+                start.await();
+                for (int n = 0; n < 5_000; n++) {
+                    broadcaster.subscribe(1L, n);
+                }
+                return null;
+            }));
+        }
+        Future<?> heartbeats = executor.submit(() -> {
+            start.await();
+            while (subscribing.get()) {
+                broadcaster.heartbeat();
+            }
+            return null;
+        });
+        start.countDown();
+        for (Future<?> subscribe : subscribes) {
+            subscribe.get(30, TimeUnit.SECONDS);
+        }
+        subscribing.set(false);
+        heartbeats.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+        broadcaster.heartbeat(); // Drops every subscriber still registered
+        
+        // Assert: a subscriber added to a set that was being dropped would be unreachable but still counted
+        assertFalse(broadcaster.hasSubscribers(1L));
+        assertEquals(0, registry.get("teamtodo.member.events.subscribers").gauge().value());
+    }
+    
+    private MockHttpServletResponse open(Long projectId, long version) throws Exception {
+        StreamController controller = new StreamController(() -> broadcaster.subscribe(projectId, version));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        return mockMvc.perform(get("/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+    
+    @RestController
+    static class StreamController {
+        
+        private final Supplier<SseEmitter> subscribe;
+        
+        StreamController(Supplier<SseEmitter> subscribe) {
+            this.subscribe = subscribe;
+        }
+        
+        @GetMapping("/events")
+        SseEmitter events() {
+            return subscribe.get();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.teamtodo.service;
+
+import com.teamtodo.config.MemberChangeLogProperties;
+import com.teamtodo.mapper.ProjectMemberChangeMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for MemberChangeLogCompactor
+ */
+@ExtendWith(MockitoExtension.class)
+class MemberChangeLogCompactorTest {
+    
+    @Mock
+    private ProjectMemberChangeMapper projectMemberChangeMapper;
+    
+    @Spy
+    private MemberChangeLogProperties properties = new MemberChangeLogProperties();
+    
+    @InjectMocks
+    private MemberChangeLogCompactor compactor;
+    
+    @Test
+    void testCompact_DeletesOldestFirstInIdRanges() {
+        // Arrange
+        LocalDateTime cutoff = LocalDateTime.of(2026, 1, 1, 0, 0);
+        properties.setCompactionBatchSize(10);
+        when(projectMemberChangeMapper.selectLastIdLoggedBefore(cutoff)).thenReturn(125L);
+        when(projectMemberChangeMapper.selectOldestId()).thenReturn(101L);
+        when(projectMemberChangeMapper.deleteRange(anyLong(), anyLong())).thenReturn(10, 10, 5);
+        
+        // Act
+        int removed = compactor.compact(cutoff);
+        
+        // Assert
+        assertEquals(25, removed);
+        InOrder inOrder = inOrder(projectMemberChangeMapper);
+        inOrder.verify(projectMemberChangeMapper).deleteRange(101L, 110L);
+        inOrder.verify(projectMemberChangeMapper).deleteRange(111L, 120L);
+        inOrder.verify(projectMemberChangeMapper).deleteRange(121L, 125L);
+        inOrder.verifyNoMoreInteractions();
+    }
+    
+    @Test
+    void testCompact_NothingOldEnough() {
+        // Arrange
+        LocalDateTime cutoff = LocalDateTime.of(2026, 1, 1, 0, 0);
+        when(projectMemberChangeMapper.selectLastIdLoggedBefore(cutoff)).thenReturn(null);
+        
+        // Act & Assert
+        assertEquals(0, compactor.compact(cutoff));
+        verify(projectMemberChangeMapper, never()).deleteRange(anyLong(), anyLong());
+    }
+}
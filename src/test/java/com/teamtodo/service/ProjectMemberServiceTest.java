@@ -1,25 +1,68 @@
 package com.teamtodo.service;
 
+import com.teamtodo.cache.EntityCache;
+import com.teamtodo.cache.MembershipCache;
+import com.teamtodo.cache.MembershipIndex;
+import com.teamtodo.cache.MembershipKey;
+import com.teamtodo.cache.RequestCoalescer;
+import com.teamtodo.cache.UserProjectsCache;
+import com.teamtodo.config.EntityCacheProperties;
+import com.teamtodo.config.MemberExportProperties;
+import com.teamtodo.config.MembershipCacheProperties;
+import com.teamtodo.config.ReadReplicaProperties;
+import com.teamtodo.config.RequestCoalescingProperties;
+import com.teamtodo.config.UserProjectsCacheProperties;
 import com.teamtodo.dto.AddMemberRequest;
+import com.teamtodo.dto.BatchAddMemberResult;
+import com.teamtodo.dto.BatchAddMembersResponse;
+import com.teamtodo.dto.MemberChange;
+import com.teamtodo.dto.MemberChanges;
+import com.teamtodo.dto.MemberCursor;
+import com.teamtodo.dto.MemberPage;
+import com.teamtodo.dto.MemberQuery;
 import com.teamtodo.dto.MemberResponse;
+import com.teamtodo.dto.UserProjectCursor;
+import com.teamtodo.dto.UserProjectPage;
+import com.teamtodo.dto.UserProjectResponse;
+import com.teamtodo.datasource.ReadYourWritesTracker;
 import com.teamtodo.entity.Project;
 import com.teamtodo.entity.ProjectMember;
+import com.teamtodo.entity.ProjectMemberChange;
 import com.teamtodo.entity.User;
 import com.teamtodo.mapper.ProjectMapper;
+import com.teamtodo.mapper.ProjectMemberChangeMapper;
 import com.teamtodo.mapper.ProjectMemberMapper;
 import com.teamtodo.mapper.UserMapper;
+import com.teamtodo.push.MemberEventBroadcaster;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -35,9 +78,43 @@ class ProjectMemberServiceTest {
     @Mock
     private ProjectMapper projectMapper;
     
+    @Mock
+    private ProjectMemberChangeMapper projectMemberChangeMapper;
+    
     @Mock
     private UserMapper userMapper;
     
+    @Mock
+    private MembershipIndex membershipIndex;
+    
+    @Mock
+    private MemberEventBroadcaster memberEventBroadcaster;
+    
+    @Spy
+    private EntityCache entityCache = new EntityCache(new EntityCacheProperties());
+    
+    @Spy
+    private MembershipCache membershipCache = new MembershipCache(new MembershipCacheProperties());
+    
+    @Spy
+    private UserProjectsCache userProjectsCache = new UserProjectsCache(new UserProjectsCacheProperties());
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @Spy
+    private MemberExportProperties memberExportProperties = new MemberExportProperties();
+    
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    
+    @Spy
+    private ReadYourWritesTracker readYourWritesTracker = new ReadYourWritesTracker(new ReadReplicaProperties());
+    
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(new RequestCoalescingProperties(),
+            new SimpleMeterRegistry());
+    
     @InjectMocks
     private ProjectMemberService projectMemberService;
     
@@ -61,6 +138,10 @@ class ProjectMemberServiceTest {
         testProject.setId(1L);
         testProject.setName("Test Project");
         testProject.setOwnerId(1L);
+        
+        // Every membership change bumps the project's member list version, projects exist unless a test says otherwise
+        lenient().when(projectMapper.incrementMemberVersion(any())).thenReturn(1);
+        lenient().when(projectMapper.lockMemberVersion(any())).thenReturn(0L);
     }
     
     /**
@@ -74,9 +155,6 @@ class ProjectMemberServiceTest {
         request.setUserId(2L);
         request.setRole("MEMBER");
         
-        when(projectMapper.selectById(1L)).thenReturn(testProject);
-        when(userMapper.selectById(2L)).thenReturn(testUser);
-        when(projectMemberMapper.selectOne(any())).thenReturn(null); // No existing member
         when(projectMemberMapper.insert(any(ProjectMember.class))).thenReturn(1);
         
         // Act
@@ -88,6 +166,15 @@ class ProjectMemberServiceTest {
         assertEquals(2L, result.getUserId());
         assertEquals("MEMBER", result.getRole());
         verify(projectMemberMapper, times(1)).insert(any(ProjectMember.class));
+        // The version bump and the insert are the only statements on the happy path
+        verify(projectMemberMapper, never()).selectOne(any());
+        verify(projectMapper, times(1)).incrementMemberVersion(1L);
+        verifyNoMoreInteractions(projectMapper);
+        verifyNoInteractions(userMapper);
+        verify(projectMemberChangeMapper, times(1)).insertChanges(argThat(changes -> changes.size() == 1
+                && changes.get(0).getChangeType() == ProjectMemberChange.Type.ADDED
+                && changes.get(0).getUserId().equals(2L)));
+        verify(memberEventBroadcaster, times(1)).publish(1L, ProjectMemberChange.Type.ADDED, 1);
     }
     
     @Test
@@ -98,13 +185,9 @@ class ProjectMemberServiceTest {
         request.setUserId(2L);
         request.setRole("MEMBER");
         
-        ProjectMember existingMember = new ProjectMember();
-        existingMember.setProjectId(1L);
-        existingMember.setUserId(2L);
-        
-        when(projectMapper.selectById(1L)).thenReturn(testProject);
-        when(userMapper.selectById(2L)).thenReturn(testUser);
-        when(projectMemberMapper.selectOne(any())).thenReturn(existingMember);
+        // uk_project_user rejects the row
+        when(projectMemberMapper.insert(any(ProjectMember.class)))
+                .thenThrow(new DuplicateKeyException("Duplicate entry '1-2' for key 'uk_project_user'"));
         
         // Act & Assert
         Exception exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -112,7 +195,7 @@ class ProjectMemberServiceTest {
         });
         
         assertTrue(exception.getMessage().contains("already a member"));
-        verify(projectMemberMapper, never()).insert(any(ProjectMember.class));
+        verifyNoInteractions(membershipIndex, projectMemberChangeMapper);
     }
     
     @Test
@@ -122,7 +205,7 @@ class ProjectMemberServiceTest {
         request.setProjectId(999L);
         request.setUserId(2L);
         
-        when(projectMapper.selectById(999L)).thenReturn(null);
+        when(projectMapper.incrementMemberVersion(999L)).thenReturn(0);
         
         // Act & Assert
         Exception exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -130,6 +213,7 @@ class ProjectMemberServiceTest {
         });
         
         assertTrue(exception.getMessage().contains("Project not found"));
+        verify(projectMemberMapper, never()).insert(any(ProjectMember.class));
     }
     
     @Test
@@ -139,7 +223,8 @@ class ProjectMemberServiceTest {
         request.setProjectId(1L);
         request.setUserId(999L);
         
-        when(projectMapper.selectById(1L)).thenReturn(testProject);
+        when(projectMemberMapper.insert(any(ProjectMember.class)))
+                .thenThrow(new DataIntegrityViolationException("Cannot add or update a child row"));
         when(userMapper.selectById(999L)).thenReturn(null);
         
         // Act & Assert
@@ -150,6 +235,324 @@ class ProjectMemberServiceTest {
         assertTrue(exception.getMessage().contains("User not found"));
     }
     
+    @Test
+    void testAddMember_OtherConstraintViolation_IsRethrown() {
+        // Arrange
+        AddMemberRequest request = new AddMemberRequest();
+        request.setProjectId(1L);
+        request.setUserId(2L);
+        request.setRole("A_ROLE_NAME_LONGER_THAN_THE_COLUMN");
+        
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("Data too long for column 'role'");
+        when(projectMemberMapper.insert(any(ProjectMember.class))).thenThrow(violation);
+        when(userMapper.selectById(2L)).thenReturn(testUser);
+        
+        // Act & Assert
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> projectMemberService.addMember(request)));
+    }
+    
+    /**
+     * T005-02: Test bulk add resolves users and duplicates with one query each
+     */
+    @Test
+    void testAddMembers_ReportsPerItemResults() {
+        // Arrange
+        Long projectId = 1L;
+        List<AddMemberRequest> requests = new ArrayList<>();
+        for (Long userId : Arrays.asList(2L, 3L, 999L, 2L, null)) {
+            AddMemberRequest request = new AddMemberRequest();
+            request.setUserId(userId);
+            requests.add(request);
+        }
+        
+        User existingUser = new User();
+        existingUser.setId(3L);
+        ProjectMember existingMember = new ProjectMember();
+        existingMember.setUserId(3L);
+        
+        when(userMapper.selectBatchIds(any())).thenReturn(Arrays.asList(testUser, existingUser));
+        when(projectMemberMapper.selectList(any())).thenReturn(List.of(existingMember));
+        when(projectMemberMapper.insertBatch(anyList())).thenAnswer(invocation -> {
+            List<ProjectMember> members = invocation.getArgument(0);
+            members.forEach(member -> member.setId(100L + member.getUserId()));
+            return members.size();
+        });
+        
+        // Act
+        BatchAddMembersResponse response = projectMemberService.addMembers(projectId, requests);
+        
+        // Assert
+        assertEquals(1, response.getAdded());
+        assertEquals(2, response.getDuplicates());
+        assertEquals(1, response.getUnknownUsers());
+        assertEquals(1, response.getInvalid());
+        assertEquals(BatchAddMemberResult.Status.ADDED, response.getResults().get(0).getStatus());
+        assertEquals(102L, response.getResults().get(0).getMemberId());
+        assertEquals(BatchAddMemberResult.Status.DUPLICATE, response.getResults().get(1).getStatus());
+        assertEquals(BatchAddMemberResult.Status.USER_NOT_FOUND, response.getResults().get(2).getStatus());
+        assertEquals(BatchAddMemberResult.Status.DUPLICATE, response.getResults().get(3).getStatus());
+        assertEquals(BatchAddMemberResult.Status.INVALID, response.getResults().get(4).getStatus());
+        
+        verify(userMapper, times(1)).selectBatchIds(any());
+        verify(projectMemberMapper, times(1)).selectList(any());
+        verify(projectMemberMapper, times(1)).insertBatch(anyList());
+        verify(projectMemberMapper, never()).insert(any(ProjectMember.class));
+        verify(projectMapper, times(1)).incrementMemberVersion(projectId);
+        verify(projectMemberChangeMapper, times(1)).insertChanges(argThat(changes -> changes.size() == 1
+                && changes.get(0).getMemberId().equals(102L)));
+    }
+    
+    @Test
+    void testAddMembers_ProjectNotFound_ThrowsException() {
+        // Arrange
+        AddMemberRequest request = new AddMemberRequest();
+        request.setUserId(2L);
+        
+        when(projectMapper.lockMemberVersion(999L)).thenReturn(null);
+        
+        // Act & Assert
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            projectMemberService.addMembers(999L, List.of(request));
+        });
+        
+        assertTrue(exception.getMessage().contains("Project not found"));
+        verify(projectMemberMapper, never()).insertBatch(anyList());
+    }
+    
+    /**
+     * T005-02: Test the project row is locked before existing memberships are read, so concurrent adds cannot race the pre-read
+     */
+    @Test
+    void testAddMembers_LocksProjectBeforeReadingExistingMembers() {
+        // Arrange
+        Long projectId = 1L;
+        AddMemberRequest request = new AddMemberRequest();
+        request.setUserId(2L);
+        
+        when(userMapper.selectBatchIds(any())).thenReturn(List.of(testUser));
+        when(projectMemberMapper.selectList(any())).thenReturn(List.of());
+        
+        // Act
+        projectMemberService.addMembers(projectId, List.of(request));
+        
+        // Assert
+        InOrder inOrder = inOrder(projectMapper, projectMemberMapper);
+        inOrder.verify(projectMapper).lockMemberVersion(projectId);
+        inOrder.verify(projectMemberMapper).selectList(any());
+        inOrder.verify(projectMapper).incrementMemberVersion(projectId);
+        inOrder.verify(projectMemberMapper).insertBatch(anyList());
+    }
+    
+    /**
+     * T005-02: Test a failed version bump is reported instead of adding members without a version change
+     */
+    @Test
+    void testAddMembers_VersionNotBumped_ThrowsException() {
+        // Arrange
+        Long projectId = 1L;
+        AddMemberRequest request = new AddMemberRequest();
+        request.setUserId(2L);
+        
+        when(userMapper.selectBatchIds(any())).thenReturn(List.of(testUser));
+        when(projectMemberMapper.selectList(any())).thenReturn(List.of());
+        when(projectMapper.incrementMemberVersion(projectId)).thenReturn(0);
+        
+        // Act & Assert
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> projectMemberService.addMembers(projectId, List.of(request)));
+        assertTrue(exception.getMessage().contains("Project not found"));
+        verify(projectMemberMapper, never()).insertBatch(anyList());
+    }
+    
+    /**
+     * T005-02: Test items are validated like a single add, an invalid role is reported per item
+     */
+    @Test
+    void testAddMembers_InvalidRole_ReportedAsInvalid() {
+        // Arrange
+        Long projectId = 1L;
+        AddMemberRequest valid = new AddMemberRequest();
+        valid.setUserId(2L);
+        AddMemberRequest tooLong = new AddMemberRequest();
+        tooLong.setUserId(3L);
+        tooLong.setRole("R".repeat(21));
+        AddMemberRequest empty = new AddMemberRequest();
+        empty.setUserId(4L);
+        empty.setRole("");
+        
+        when(userMapper.selectBatchIds(any())).thenReturn(List.of(testUser));
+        when(projectMemberMapper.selectList(any())).thenReturn(List.of());
+        
+        // Act
+        BatchAddMembersResponse response = projectMemberService.addMembers(projectId, List.of(valid, tooLong, empty));
+        
+        // Assert
+        assertEquals(1, response.getAdded());
+        assertEquals(2, response.getInvalid());
+        assertEquals(BatchAddMemberResult.Status.INVALID, response.getResults().get(1).getStatus());
+        assertEquals("Role must be 1 to 20 characters", response.getResults().get(1).getMessage());
+        assertEquals(BatchAddMemberResult.Status.INVALID, response.getResults().get(2).getStatus());
+        verify(projectMemberMapper).insertBatch(argThat(members -> members.size() == 1));
+    }
+    
+    /**
+     * T005-02: Test repeated batches for a project read known users from the entity cache
+     */
+    @Test
+    void testAddMembers_ReadsUsersThroughEntityCache() {
+        // Arrange
+        Long projectId = 1L;
+        AddMemberRequest request = new AddMemberRequest();
+        request.setUserId(2L);
+        
+        when(userMapper.selectBatchIds(any())).thenReturn(List.of(testUser));
+        when(projectMemberMapper.selectList(any())).thenReturn(List.of());
+        
+        // Act
+        projectMemberService.addMembers(projectId, List.of(request));
+        BatchAddMembersResponse response = projectMemberService.addMembers(projectId, List.of(request));
+        
+        // Assert
+        assertEquals(1, response.getAdded());
+        verify(userMapper, times(1)).selectBatchIds(any());
+    }
+    
+    /**
+     * T005-02: Test a foreign key failure drops the cached users so a retry reads them again
+     */
+    @Test
+    void testAddMembers_ForeignKeyFailure_InvalidatesEntityCache() {
+        // Arrange
+        Long projectId = 1L;
+        AddMemberRequest request = new AddMemberRequest();
+        request.setUserId(2L);
+        
+        when(userMapper.selectBatchIds(any())).thenReturn(List.of(testUser));
+        when(projectMemberMapper.selectList(any())).thenReturn(List.of());
+        when(projectMemberMapper.insertBatch(anyList())).thenThrow(new DataIntegrityViolationException("fk_user"));
+        
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> projectMemberService.addMembers(projectId, List.of(request)));
+        verify(entityCache).invalidateUsers(argThat(userIds -> userIds.contains(2L)));
+    }
+    
+    /**
+     * T005-02: Test a user deleted while cached is reported as not found instead of failing with the foreign key violation
+     */
+    @Test
+    void testAddMembers_UserDeletedWhileCached_ThrowsException() {
+        // Arrange
+        Long projectId = 1L;
+        AddMemberRequest request = new AddMemberRequest();
+        request.setUserId(2L);
+        
+        when(userMapper.selectBatchIds(any())).thenReturn(List.of(testUser), List.of());
+        when(projectMemberMapper.selectList(any())).thenReturn(List.of());
+        when(projectMemberMapper.insertBatch(anyList())).thenThrow(new DataIntegrityViolationException("fk_user"));
+        
+        // Act & Assert
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> projectMemberService.addMembers(projectId, List.of(request)));
+        assertEquals("User not found with id: 2", exception.getMessage());
+        verify(entityCache).invalidateUsers(argThat(userIds -> userIds.contains(2L)));
+    }
+    
+    /**
+     * T005-03: Test the member list version is read from the project row
+     */
+    @Test
+    void testGetMemberListVersion() {
+        // Arrange
+        when(projectMapper.selectMemberVersion(1L)).thenReturn(7L);
+        
+        // Act & Assert
+        assertEquals(7L, projectMemberService.getMemberListVersion(1L));
+        verifyNoInteractions(projectMemberMapper);
+    }
+    
+    /**
+     * T005-03: Test delta sync returns only the changes after the client's version
+     */
+    @Test
+    void testGetMemberChanges_Delta() {
+        // Arrange
+        List<MemberChange> changes = List.of(memberChange(4L), memberChange(5L));
+        when(projectMapper.selectMemberVersion(1L)).thenReturn(5L);
+        when(projectMemberChangeMapper.existsVersion(1L, 3L)).thenReturn(true);
+        when(projectMemberChangeMapper.selectChanges(1L, 3L, 5L, ProjectMemberService.MAX_DELTA_CHANGES + 1))
+                .thenReturn(changes);
+        
+        // Act
+        MemberChanges result = projectMemberService.getMemberChanges(1L, 3L);
+        
+        // Assert
+        assertFalse(result.isSnapshot());
+        assertEquals(5L, result.getVersion());
+        assertEquals(changes, result.getChanges());
+        verify(projectMemberMapper, never()).selectMemberResponses(any());
+    }
+    
+    @Test
+    void testGetMemberChanges_UpToDate() {
+        // Arrange
+        when(projectMapper.selectMemberVersion(1L)).thenReturn(5L);
+        
+        // Act
+        MemberChanges result = projectMemberService.getMemberChanges(1L, 5L);
+        
+        // Assert
+        assertFalse(result.isSnapshot());
+        assertTrue(result.getChanges().isEmpty());
+        verifyNoInteractions(projectMemberChangeMapper, projectMemberMapper);
+    }
+    
+    @Test
+    void testGetMemberChanges_CompactedLog_ReturnsSnapshot() {
+        // Arrange
+        List<MemberResponse> members = List.of(new MemberResponse());
+        when(projectMapper.selectMemberVersion(1L)).thenReturn(5L);
+        when(projectMemberChangeMapper.existsVersion(1L, 3L)).thenReturn(false);
+        when(projectMemberMapper.selectMemberResponses(1L)).thenReturn(members);
+        
+        // Act
+        MemberChanges result = projectMemberService.getMemberChanges(1L, 3L);
+        
+        // Assert
+        assertTrue(result.isSnapshot());
+        assertEquals(5L, result.getVersion());
+        assertEquals(members, result.getMembers());
+        verify(projectMemberChangeMapper, never()).selectChanges(any(), anyLong(), anyLong(), anyInt());
+    }
+    
+    @Test
+    void testGetMemberChanges_TooFarBehind_ReturnsSnapshot() {
+        // Arrange
+        List<MemberChange> changes = new ArrayList<>();
+        for (int i = 0; i <= ProjectMemberService.MAX_DELTA_CHANGES; i++) {
+            changes.add(memberChange(2L));
+        }
+        when(projectMapper.selectMemberVersion(1L)).thenReturn(2L);
+        when(projectMemberChangeMapper.existsVersion(1L, 1L)).thenReturn(true);
+        when(projectMemberChangeMapper.selectChanges(1L, 1L, 2L, ProjectMemberService.MAX_DELTA_CHANGES + 1))
+                .thenReturn(changes);
+        when(projectMemberMapper.selectMemberResponses(1L)).thenReturn(List.of());
+        
+        // Act & Assert
+        assertTrue(projectMemberService.getMemberChanges(1L, 1L).isSnapshot());
+    }
+    
+    @Test
+    void testGetMemberChanges_ProjectNotFound_ThrowsException() {
+        // Arrange
+        when(projectMapper.selectMemberVersion(999L)).thenReturn(null);
+        
+        // Act & Assert
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> projectMemberService.getMemberChanges(999L, 1L));
+        assertTrue(exception.getMessage().contains("Project not found"));
+    }
+    
     /**
      * T005-03: Test listing project members
      */
@@ -158,21 +561,19 @@ class ProjectMemberServiceTest {
         // Arrange
         Long projectId = 1L;
         
-        ProjectMember member1 = new ProjectMember();
+        MemberResponse member1 = new MemberResponse();
         member1.setId(1L);
-        member1.setProjectId(projectId);
         member1.setUserId(1L);
+        member1.setUsername("owner");
         member1.setRole("OWNER");
         
-        ProjectMember member2 = new ProjectMember();
+        MemberResponse member2 = new MemberResponse();
         member2.setId(2L);
-        member2.setProjectId(projectId);
         member2.setUserId(2L);
+        member2.setUsername("testuser");
         member2.setRole("MEMBER");
         
-        when(projectMemberMapper.selectList(any())).thenReturn(Arrays.asList(member1, member2));
-        when(userMapper.selectById(1L)).thenReturn(testOwner);
-        when(userMapper.selectById(2L)).thenReturn(testUser);
+        when(projectMemberMapper.selectMemberResponses(projectId)).thenReturn(Arrays.asList(member1, member2));
         
         // Act
         List<MemberResponse> result = projectMemberService.getProjectMembers(projectId);
@@ -184,6 +585,212 @@ class ProjectMemberServiceTest {
         assertEquals("testuser", result.get(1).getUsername());
     }
     
+    /**
+     * T005-03: Listing members must cost a single statement no matter how many members exist
+     */
+    @Test
+    void testGetProjectMembers_SingleStatementForLargeProject() {
+        // Arrange
+        Long projectId = 1L;
+        List<MemberResponse> members = new ArrayList<>();
+        for (long i = 1; i <= 2000; i++) {
+            MemberResponse member = new MemberResponse();
+            member.setId(i);
+            member.setUserId(i);
+            member.setUsername("user" + i);
+            members.add(member);
+        }
+        
+        when(projectMemberMapper.selectMemberResponses(projectId)).thenReturn(members);
+        
+        // Act
+        List<MemberResponse> result = projectMemberService.getProjectMembers(projectId);
+        
+        // Assert
+        assertEquals(2000, result.size());
+        verify(projectMemberMapper, times(1)).selectMemberResponses(projectId);
+        verifyNoMoreInteractions(projectMemberMapper);
+        verifyNoInteractions(userMapper, projectMapper);
+    }
+    
+    /**
+     * T005-03: Test a versioned read goes through the coalescer and its list cannot be changed by one caller
+     */
+    @Test
+    void testGetProjectMembers_WithVersion_SharedReadOnlyList() {
+        // Arrange
+        Long projectId = 1L;
+        MemberResponse member = new MemberResponse();
+        member.setId(1L);
+        member.setUsername("owner");
+        when(projectMemberMapper.selectMemberResponses(projectId)).thenReturn(new ArrayList<>(List.of(member)));
+        
+        // Act
+        List<MemberResponse> result = projectMemberService.getProjectMembers(projectId, 3L);
+        
+        // Assert
+        assertEquals(1, result.size());
+        assertThrows(UnsupportedOperationException.class, () -> result.add(new MemberResponse()));
+        verify(requestCoalescer).execute(any(), any());
+    }
+    
+    @Test
+    void testGetProjectMembers_WithoutVersion_NotCoalesced() {
+        // Arrange
+        Long projectId = 1L;
+        when(projectMemberMapper.selectMemberResponses(projectId)).thenReturn(List.of());
+        
+        // Act
+        List<MemberResponse> result = projectMemberService.getProjectMembers(projectId, null);
+        
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(requestCoalescer);
+    }
+    
+    /**
+     * T005-03: Test export reads keyset chunks in separate read-only scopes and hands each row to the sink
+     */
+    @Test
+    void testExportProjectMembers_ReadsChunksAfterLastId() {
+        // Arrange
+        Long projectId = 1L;
+        memberExportProperties.setChunkSize(2);
+        when(projectMemberMapper.selectMemberResponsesAfter(projectId, 0L, 2)).thenReturn(List.of(response(1L), response(2L)));
+        when(projectMemberMapper.selectMemberResponsesAfter(projectId, 2L, 2)).thenReturn(List.of(response(3L)));
+        List<Long> exported = new ArrayList<>();
+        
+        // Act
+        projectMemberService.exportProjectMembers(projectId, member -> exported.add(member.getId()));
+        
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), exported);
+        verify(transactionManager, times(2)).getTransaction(argThat(definition -> definition.isReadOnly()
+                && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_SUPPORTS));
+        verify(transactionManager, times(2)).commit(any());
+        verify(projectMemberMapper, never()).selectMemberResponses(any());
+    }
+    
+    /**
+     * T005-03: Test keyset paging returns a cursor that seeks past the last row
+     */
+    @Test
+    void testGetProjectMembersPage_ReturnsNextCursor() {
+        // Arrange
+        Long projectId = 1L;
+        LocalDateTime joinedAt = LocalDateTime.of(2026, 1, 30, 15, 0);
+        List<MemberResponse> rows = new ArrayList<>();
+        for (long i = 1; i <= 3; i++) {
+            MemberResponse member = new MemberResponse();
+            member.setId(i);
+            member.setJoinedAt(joinedAt.plusMinutes(i));
+            rows.add(member);
+        }
+        
+        MemberQuery query = new MemberQuery();
+        query.setRole("MEMBER");
+        query.setLimit(2);
+        
+        when(projectMemberMapper.selectMemberPage(projectId, "MEMBER", null, false, 3)).thenReturn(rows);
+        
+        // Act
+        MemberPage page = projectMemberService.getProjectMembersPage(projectId, query);
+        
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+        MemberCursor cursor = MemberCursor.decode(page.getNextCursor());
+        assertEquals(2L, cursor.getId());
+        assertEquals(joinedAt.plusMinutes(2), cursor.getJoinedAt());
+        
+        // Follow the cursor to the last page
+        query.setCursor(page.getNextCursor());
+        when(projectMemberMapper.selectMemberPage(projectId, "MEMBER", cursor, false, 3))
+                .thenReturn(rows.subList(2, 3));
+        MemberPage lastPage = projectMemberService.getProjectMembersPage(projectId, query);
+        assertEquals(1, lastPage.getItems().size());
+        assertNull(lastPage.getNextCursor());
+    }
+    
+    @Test
+    void testGetProjectMembersPage_InvalidCursor_ThrowsException() {
+        // Arrange
+        MemberQuery query = new MemberQuery();
+        query.setCursor("not-a-cursor");
+        
+        // Act & Assert
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            projectMemberService.getProjectMembersPage(1L, query);
+        });
+        
+        assertTrue(exception.getMessage().contains("Invalid cursor"));
+        verify(projectMemberMapper, never()).selectMemberPage(any(), any(), any(), anyBoolean(), anyInt());
+    }
+    
+    /**
+     * AC2: Test the first page of a user's projects is served from the per-user cache
+     */
+    @Test
+    void testGetUserProjects_FirstPageCached() {
+        // Arrange
+        when(projectMemberMapper.selectUserProjects(2L, null, ProjectMemberService.MAX_PAGE_SIZE + 1))
+                .thenReturn(userProjects(30, 29, 28));
+        
+        // Act
+        UserProjectPage first = projectMemberService.getUserProjects(2L, null, 2);
+        UserProjectPage again = projectMemberService.getUserProjects(2L, null, null);
+        
+        // Assert
+        assertEquals(List.of(30L, 29L), first.getItems().stream().map(UserProjectResponse::getMemberId).toList());
+        assertEquals(29L, UserProjectCursor.decode(first.getNextCursor()).getMemberId());
+        assertEquals(3, again.getItems().size());
+        assertNull(again.getNextCursor());
+        verify(projectMemberMapper, times(1)).selectUserProjects(any(), any(), anyInt());
+    }
+    
+    @Test
+    void testGetUserProjects_NextPageSeeksPastCursor() {
+        // Arrange
+        String cursor = new UserProjectCursor(29L).encode();
+        when(projectMemberMapper.selectUserProjects(2L, 29L, 3)).thenReturn(userProjects(28));
+        
+        // Act
+        UserProjectPage page = projectMemberService.getUserProjects(2L, cursor, 2);
+        
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+        verify(userProjectsCache, never()).get(any(), any());
+    }
+    
+    @Test
+    void testGetUserProjects_InvalidLimit() {
+        // Act & Assert
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> projectMemberService.getUserProjects(2L, null, 0));
+        assertEquals("Limit must be between 1 and " + ProjectMemberService.MAX_PAGE_SIZE, exception.getMessage());
+        verifyNoInteractions(projectMemberMapper);
+    }
+    
+    @Test
+    void testAddMember_InvalidatesUserProjects() {
+        // Arrange
+        AddMemberRequest request = new AddMemberRequest();
+        request.setProjectId(1L);
+        request.setUserId(2L);
+        when(projectMemberMapper.selectUserProjects(2L, null, ProjectMemberService.MAX_PAGE_SIZE + 1))
+                .thenReturn(userProjects(), userProjects(31));
+        
+        // Act
+        projectMemberService.getUserProjects(2L, null, null);
+        projectMemberService.addMember(request);
+        UserProjectPage page = projectMemberService.getUserProjects(2L, null, null);
+        
+        // Assert
+        assertEquals(1, page.getItems().size());
+        verify(userProjectsCache, atLeastOnce()).invalidate(2L);
+    }
+    
     /**
      * T005-04: Test removing a member from a project with permission check
      */
@@ -199,15 +806,68 @@ class ProjectMemberServiceTest {
         member.setProjectId(projectId);
         member.setUserId(3L); // Different from owner
         
-        when(projectMapper.selectById(projectId)).thenReturn(testProject);
         when(projectMemberMapper.selectById(memberId)).thenReturn(member);
-        when(projectMemberMapper.deleteById(memberId)).thenReturn(1);
+        when(projectMemberMapper.deleteByOwner(projectId, memberId, requestUserId)).thenReturn(1);
         
         // Act
         projectMemberService.removeMember(projectId, memberId, requestUserId);
         
         // Assert
-        verify(projectMemberMapper, times(1)).deleteById(memberId);
+        verify(projectMemberMapper, times(1)).deleteByOwner(projectId, memberId, requestUserId);
+        // The owner rule is checked by the DELETE itself
+        verify(projectMapper, times(1)).incrementMemberVersion(projectId);
+        verifyNoMoreInteractions(projectMapper);
+        verify(projectMemberChangeMapper, times(1)).insertChanges(argThat(changes -> changes.size() == 1
+                && changes.get(0).getChangeType() == ProjectMemberChange.Type.REMOVED
+                && changes.get(0).getMemberId().equals(memberId)
+                && changes.get(0).getUserId().equals(3L)));
+        verify(memberEventBroadcaster, times(1)).publish(projectId, ProjectMemberChange.Type.REMOVED, 1);
+    }
+    
+    @Test
+    void testRemoveMember_NotOwner_RejectedByDelete() {
+        // Arrange
+        Long projectId = 1L;
+        Long memberId = 2L;
+        Long requestUserId = 4L; // Not owner
+        
+        ProjectMember member = new ProjectMember();
+        member.setId(memberId);
+        member.setProjectId(projectId);
+        member.setUserId(3L);
+        
+        when(projectMemberMapper.selectById(memberId)).thenReturn(member);
+        when(projectMemberMapper.deleteByOwner(projectId, memberId, requestUserId)).thenReturn(0);
+        when(projectMapper.selectById(projectId)).thenReturn(testProject);
+        
+        // Act & Assert
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            projectMemberService.removeMember(projectId, memberId, requestUserId);
+        });
+        
+        assertTrue(exception.getMessage().contains("Only project owner can remove members"));
+        verifyNoInteractions(membershipIndex);
+    }
+    
+    @Test
+    void testRemoveMember_ProjectNotFound_ThrowsException() {
+        // Arrange
+        ProjectMember member = new ProjectMember();
+        member.setId(2L);
+        member.setProjectId(999L);
+        member.setUserId(3L);
+        
+        when(projectMemberMapper.selectById(2L)).thenReturn(member);
+        when(projectMapper.incrementMemberVersion(999L)).thenReturn(0);
+        when(projectMapper.selectById(999L)).thenReturn(null);
+        
+        // Act & Assert
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            projectMemberService.removeMember(999L, 2L, 1L);
+        });
+        
+        assertTrue(exception.getMessage().contains("Project not found"));
+        verify(projectMemberMapper, never()).deleteByOwner(any(), any(), any());
     }
     
     @Test
@@ -304,4 +964,148 @@ class ProjectMemberServiceTest {
         // Assert
         assertFalse(result);
     }
+    
+    @Test
+    void testIsProjectMember_AnsweredFromCache() {
+        // Arrange
+        ProjectMember member = new ProjectMember();
+        member.setProjectId(1L);
+        member.setUserId(2L);
+        
+        when(projectMemberMapper.selectOne(any())).thenReturn(member);
+        
+        // Act
+        boolean first = projectMemberService.isProjectMember(1L, 2L);
+        boolean second = projectMemberService.isProjectMember(1L, 2L);
+        
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        verify(projectMemberMapper, times(1)).selectOne(any());
+    }
+    
+    @Test
+    void testIsProjectMember_NegativeResultInvalidatedByAddMember() {
+        // Arrange
+        AddMemberRequest request = new AddMemberRequest();
+        request.setProjectId(1L);
+        request.setUserId(2L);
+        
+        ProjectMember member = new ProjectMember();
+        member.setProjectId(1L);
+        member.setUserId(2L);
+        
+        // Not a member, then a member after the add
+        when(projectMemberMapper.selectOne(any())).thenReturn(null, member);
+        
+        // Act & Assert
+        assertFalse(projectMemberService.isProjectMember(1L, 2L));
+        assertFalse(projectMemberService.isProjectMember(1L, 2L)); // Cached negative
+        projectMemberService.addMember(request);
+        assertTrue(projectMemberService.isProjectMember(1L, 2L));
+        
+        verify(membershipCache, atLeastOnce()).invalidate(1L, 2L);
+        verify(projectMemberMapper, times(2)).selectOne(any());
+    }
+    
+    @Test
+    void testRemoveMember_InvalidatesMembershipCache() {
+        // Arrange
+        ProjectMember member = new ProjectMember();
+        member.setId(2L);
+        member.setProjectId(1L);
+        member.setUserId(3L);
+        
+        when(projectMemberMapper.selectById(2L)).thenReturn(member);
+        when(projectMemberMapper.deleteByOwner(1L, 2L, 1L)).thenReturn(1);
+        when(projectMemberMapper.selectOne(any())).thenReturn(member, (ProjectMember) null);
+        
+        // Act & Assert
+        assertTrue(projectMemberService.isProjectMember(1L, 3L));
+        projectMemberService.removeMember(1L, 2L, 1L);
+        assertFalse(projectMemberService.isProjectMember(1L, 3L));
+    }
+    
+    @Test
+    void testCheckMemberships_OneQueryForCacheMisses() {
+        // Arrange
+        ProjectMember cachedMember = new ProjectMember();
+        cachedMember.setProjectId(1L);
+        cachedMember.setUserId(2L);
+        when(projectMemberMapper.selectOne(any())).thenReturn(cachedMember);
+        projectMemberService.isProjectMember(1L, 2L); // Warm the cache for (1, 2)
+        
+        ProjectMember loadedMember = new ProjectMember();
+        loadedMember.setProjectId(2L);
+        loadedMember.setUserId(2L);
+        when(projectMemberMapper.selectByProjectUserPairs(any())).thenReturn(List.of(loadedMember));
+        
+        List<MembershipKey> keys = List.of(
+                new MembershipKey(1L, 2L), new MembershipKey(2L, 2L), new MembershipKey(3L, 2L));
+        
+        // Act
+        Map<MembershipKey, Boolean> result = projectMemberService.checkMemberships(keys);
+        Map<MembershipKey, Boolean> again = projectMemberService.checkMemberships(keys);
+        
+        // Assert
+        assertEquals(Boolean.TRUE, result.get(new MembershipKey(1L, 2L)));
+        assertEquals(Boolean.TRUE, result.get(new MembershipKey(2L, 2L)));
+        assertEquals(Boolean.FALSE, result.get(new MembershipKey(3L, 2L)));
+        assertEquals(result, again);
+        verify(projectMemberMapper, times(1)).selectByProjectUserPairs(
+                argThat(pairs -> pairs.size() == 2 && !pairs.contains(new MembershipKey(1L, 2L))));
+    }
+    
+    @Test
+    void testIsProjectMember_AnsweredFromIndex() {
+        // Arrange
+        when(membershipIndex.covers(1L, 2L)).thenReturn(true);
+        when(membershipIndex.contains(1L, 2L)).thenReturn(true);
+        
+        // Act
+        boolean result = projectMemberService.isProjectMember(1L, 2L);
+        
+        // Assert
+        assertTrue(result);
+        verifyNoInteractions(projectMemberMapper);
+    }
+    
+    @Test
+    void testAddMember_UpdatesIndex() {
+        // Arrange
+        AddMemberRequest request = new AddMemberRequest();
+        request.setProjectId(1L);
+        request.setUserId(2L);
+        
+        // Act
+        projectMemberService.addMember(request);
+        
+        // Assert
+        verify(membershipIndex, times(1)).add(1L, List.of(2L));
+    }
+    
+    private static List<UserProjectResponse> userProjects(long... memberIds) {
+        List<UserProjectResponse> projects = new ArrayList<>();
+        for (long memberId : memberIds) {
+            UserProjectResponse project = new UserProjectResponse();
+            project.setMemberId(memberId);
+            project.setProjectId(memberId + 100);
+            project.setName("project" + memberId);
+            projects.add(project);
+        }
+        return projects;
+    }
+    
+    private static MemberResponse response(Long id) {
+        MemberResponse member = new MemberResponse();
+        member.setId(id);
+        return member;
+    }
+    
+    private static MemberChange memberChange(Long version) {
+        MemberChange change = new MemberChange();
+        change.setVersion(version);
+        change.setType(ProjectMemberChange.Type.ADDED);
+        return change;
+    }
 }
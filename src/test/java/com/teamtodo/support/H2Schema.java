@@ -0,0 +1,59 @@
+package com.teamtodo.support;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StreamUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Embedded H2 database in MySQL mode loaded from the production db/schema.sql
+ * Used by database-backed tests and the JMH benchmarks so they run against the real tables and indexes.
+ */
+public final class H2Schema {
+    
+    public static final String DRIVER_CLASS_NAME = "org.h2.Driver";
+    
+    private static final String SCHEMA = "db/schema.sql";
+    
+    private H2Schema() {
+    }
+    
+    /**
+     * JDBC URL of a named in-memory database that lives until the JVM exits
+     */
+    public static String url(String name) {
+        return "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1";
+    }
+    
+    /**
+     * Create the tables of db/schema.sql, skipping the MySQL-only CREATE DATABASE and USE statements
+     */
+    public static void load(DataSource dataSource) {
+        String script;
+        try {
+            script = StreamUtils.copyToString(new ClassPathResource(SCHEMA).getInputStream(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + SCHEMA, e);
+        }
+        
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String sql : script.replaceAll("(?m)^\\s*--.*$", "").split(";")) {
+                String trimmed = sql.trim();
+                String upper = trimmed.toUpperCase(Locale.ROOT);
+                if (trimmed.isEmpty() || upper.startsWith("CREATE DATABASE") || upper.startsWith("USE ")) {
+                    continue;
+                }
+                statement.execute(trimmed);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot load " + SCHEMA + " into H2", e);
+        }
+    }
+}